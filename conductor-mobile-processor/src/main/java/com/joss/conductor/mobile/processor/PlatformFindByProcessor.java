@@ -0,0 +1,333 @@
+package com.joss.conductor.mobile.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code <Page>_Locators} class for every page object with {@code @AndroidFindBy} or {@code @IOSFindBy}
+ * fields, whose static {@code bind(page, platform)} method assigns the locators of the platform to the fields of the
+ * page, including the annotated fields it inherits.
+ * <p>
+ * {@code PlatformFindByHelper.initIds} uses the generated binder when it exists, so page objects are bound without
+ * reflection and the binding shows up in stack traces and profiles like any other code. Fields that are not of type
+ * {@code By}, or that the binder cannot assign, fail the compile.
+ */
+@SupportedAnnotationTypes({
+        PlatformFindByProcessor.ANDROID_FIND_BY,
+        PlatformFindByProcessor.IOS_FIND_BY
+})
+public class PlatformFindByProcessor extends AbstractProcessor {
+
+    static final String ANDROID_FIND_BY = "com.joss.conductor.mobile.annotation.AndroidFindBy";
+    static final String IOS_FIND_BY = "com.joss.conductor.mobile.annotation.IOSFindBy";
+    static final String BINDER_SUFFIX = "_Locators";
+
+    private static final String BY = "org.openqa.selenium.By";
+    private static final String PLATFORM = "com.joss.conductor.mobile.Platform";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> pages = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.FIELD) {
+                    pages.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+        }
+        for (TypeElement page : pages) {
+            generate(page);
+        }
+        return false;
+    }
+
+    private void generate(TypeElement page) {
+        String packageName = packageOf(page).getQualifiedName().toString();
+        List<Binding> android = new ArrayList<>();
+        List<Binding> ios = new ArrayList<>();
+        boolean valid = true;
+
+        TypeElement current = page;
+        while (current != null) {
+            for (Element member : current.getEnclosedElements()) {
+                if (member.getKind() != ElementKind.FIELD) {
+                    continue;
+                }
+                VariableElement field = (VariableElement) member;
+                AnnotationMirror androidFindBy = findAnnotation(field, ANDROID_FIND_BY);
+                AnnotationMirror iosFindBy = findAnnotation(field, IOS_FIND_BY);
+                if (androidFindBy == null && iosFindBy == null) {
+                    continue;
+                }
+                if (!isAssignable(page, current, field, packageName)) {
+                    valid = false;
+                    continue;
+                }
+                if (androidFindBy != null) {
+                    addBinding(android, page, current, field, androidFindBy, "id");
+                }
+                if (iosFindBy != null) {
+                    addBinding(ios, page, current, field, iosFindBy, "name");
+                }
+            }
+            current = superclassOf(current);
+        }
+
+        if (valid) {
+            write(page, packageName, android, ios);
+        }
+    }
+
+    /**
+     * Reports an error unless the generated binder, which lives in the package of the page, can assign the field.
+     */
+    private boolean isAssignable(TypeElement page, TypeElement owner, VariableElement field, String packageName) {
+        Set<Modifier> modifiers = field.getModifiers();
+        String problem = null;
+        if (!processingEnv.getTypeUtils().isSameType(field.asType(), typeOf(BY))) {
+            problem = field.getSimpleName() + " must be of type By!";
+        } else if (modifiers.contains(Modifier.FINAL)) {
+            problem = field.getSimpleName() + " must not be final to be bound by " + binderName(page);
+        } else if (modifiers.contains(Modifier.PRIVATE)) {
+            problem = field.getSimpleName() + " must not be private to be bound by " + binderName(page);
+        } else if (!modifiers.contains(Modifier.PUBLIC)
+                && !packageOf(owner).getQualifiedName().contentEquals(packageName)) {
+            problem = field.getSimpleName() + " must be public to be bound by " + binderName(page)
+                    + " from another package";
+        }
+        if (problem == null) {
+            return true;
+        }
+        // Inherited fields are reported on the page whose binder cannot be generated
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, problem, owner == page ? field : page);
+        return false;
+    }
+
+    private void addBinding(List<Binding> bindings, TypeElement page, TypeElement owner, VariableElement field,
+                            AnnotationMirror annotation, String valueStrategy) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                processingEnv.getElementUtils().getElementValuesWithDefaults(annotation);
+        String value = stringValue(values, "value");
+        String xpath = stringValue(values, "xpath");
+        String className = stringValue(values, "className");
+
+        String by;
+        if (!value.isEmpty()) {
+            by = BY + "." + valueStrategy + "(" + literal(value) + ")";
+        } else if (!xpath.isEmpty()) {
+            by = BY + ".xpath(" + literal(xpath) + ")";
+        } else if (!className.isEmpty()) {
+            by = BY + ".className(" + literal(className) + ")";
+        } else {
+            // Like PlatformFindByHelper, an empty annotation leaves the field untouched
+            return;
+        }
+
+        String target;
+        if (field.getModifiers().contains(Modifier.STATIC)) {
+            target = owner.getQualifiedName() + "." + field.getSimpleName();
+        } else if (owner == page) {
+            target = "page." + field.getSimpleName();
+        } else {
+            // The cast picks the inherited field even if the page hides it with a field of the same name
+            target = "((" + erasure(owner) + ") page)." + field.getSimpleName();
+        }
+        bindings.add(new Binding(target, by));
+    }
+
+    private void write(TypeElement page, String packageName, List<Binding> android, List<Binding> ios) {
+        String binderName = binderName(page);
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * Binds the @AndroidFindBy and @IOSFindBy locators of {@link ")
+                .append(page.getQualifiedName()).append("}.\n")
+                .append(" * <p>\n")
+                .append(" * Generated by ").append(getClass().getName()).append(", do not edit.\n")
+                .append(" */\n")
+                .append("public final class ").append(binderName).append(" {\n\n");
+
+        Set<String> constants = new HashSet<>();
+        appendConstants(source, constants, "ANDROID", android);
+        appendConstants(source, constants, "IOS", ios);
+
+        source.append("\n    private ").append(binderName).append("() {\n    }\n\n")
+                .append("    public static void bind(").append(erasure(page)).append(" page, ")
+                .append(PLATFORM).append(" platform) {\n")
+                .append("        switch (platform) {\n");
+        appendCase(source, "ANDROID", android);
+        appendCase(source, "IOS", ios);
+        source.append("            default:\n")
+                .append("                break;\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? binderName : packageName + "." + binderName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, page);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write " + qualifiedName + ": " + exception.getMessage(), page);
+        }
+    }
+
+    private static void appendConstants(StringBuilder source, Set<String> constants, String platform,
+                                        List<Binding> bindings) {
+        for (Binding binding : bindings) {
+            String base = platform + "_" + binding.target.replaceAll("^.*\\.", "").toUpperCase();
+            String constant = base;
+            for (int i = 2; !constants.add(constant); i++) {
+                constant = base + "_" + i;
+            }
+            binding.constant = constant;
+            source.append("    private static final ").append(BY).append(' ').append(constant)
+                    .append(" = ").append(binding.by).append(";\n");
+        }
+    }
+
+    private static void appendCase(StringBuilder source, String platform, List<Binding> bindings) {
+        if (bindings.isEmpty()) {
+            return;
+        }
+        source.append("            case ").append(platform).append(":\n");
+        for (Binding binding : bindings) {
+            source.append("                ").append(binding.target).append(" = ").append(binding.constant)
+                    .append(";\n");
+        }
+        source.append("                break;\n");
+    }
+
+    /**
+     * @return the simple name of the binder of the page; nested pages are prefixed with their enclosing classes, like
+     * {@code Outer_Inner_Locators} for {@code Outer.Inner}
+     */
+    static String binderName(TypeElement page) {
+        StringBuilder name = new StringBuilder(page.getSimpleName());
+        Element enclosing = page.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name.append(BINDER_SUFFIX).toString();
+    }
+
+    private String erasure(TypeElement type) {
+        return processingEnv.getTypeUtils().erasure(type.asType()).toString();
+    }
+
+    private TypeMirror typeOf(String qualifiedName) {
+        TypeElement type = processingEnv.getElementUtils().getTypeElement(qualifiedName);
+        if (type == null) {
+            throw new IllegalStateException(qualifiedName + " is not on the classpath");
+        }
+        return type.asType();
+    }
+
+    private PackageElement packageOf(Element element) {
+        return processingEnv.getElementUtils().getPackageOf(element);
+    }
+
+    private static TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) superclass).asElement();
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) annotation.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(annotationName)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private static String stringValue(Map<? extends ExecutableElement, ? extends AnnotationValue> values,
+                                      String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return String.valueOf(entry.getValue().getValue());
+            }
+        }
+        return "";
+    }
+
+    static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private static class Binding {
+        private final String target;
+        private final String by;
+        private String constant;
+
+        Binding(String target, String by) {
+            this.target = target;
+            this.by = by;
+        }
+    }
+}
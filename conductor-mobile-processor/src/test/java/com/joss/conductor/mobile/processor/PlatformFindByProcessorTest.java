@@ -0,0 +1,204 @@
+package com.joss.conductor.mobile.processor;
+
+import com.joss.conductor.mobile.Platform;
+import com.joss.conductor.mobile.annotation.PlatformFindByHelper;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.By;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class PlatformFindByProcessorTest {
+
+    private Path sources;
+    private Path classes;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        sources = Files.createTempDirectory("processor-sources");
+        classes = Files.createTempDirectory("processor-classes");
+        diagnostics = new DiagnosticCollector<>();
+    }
+
+    @Test
+    public void binder_assigns_platform_locators() throws Exception {
+        source("pages/LoginPage.java",
+                "package pages;",
+                "import com.joss.conductor.mobile.annotation.*;",
+                "import org.openqa.selenium.By;",
+                "public class LoginPage {",
+                "    @AndroidFindBy(\"login\") @IOSFindBy(\"Login\") public By login;",
+                "    @AndroidFindBy(xpath = \"//*[@text=\\\"Sign in\\\"]\") By signIn;",
+                "    @IOSFindBy(className = \"XCUIElementTypeButton\") protected By button;",
+                "}");
+
+        Assertions.assertThat(compile()).isTrue();
+        Object android = newPage("pages.LoginPage");
+        bind(android, Platform.ANDROID);
+        Object ios = newPage("pages.LoginPage");
+        bind(ios, Platform.IOS);
+
+        Assertions.assertThat(field(android, "login")).isEqualTo(By.id("login"));
+        Assertions.assertThat(field(android, "signIn")).isEqualTo(By.xpath("//*[@text=\"Sign in\"]"));
+        Assertions.assertThat(field(android, "button")).isNull();
+        Assertions.assertThat(field(ios, "login")).isEqualTo(By.name("Login"));
+        Assertions.assertThat(field(ios, "signIn")).isNull();
+        Assertions.assertThat(field(ios, "button")).isEqualTo(By.className("XCUIElementTypeButton"));
+    }
+
+    @Test
+    public void binder_assigns_inherited_locators() throws Exception {
+        source("pages/BasePage.java",
+                "package pages;",
+                "import com.joss.conductor.mobile.annotation.*;",
+                "import org.openqa.selenium.By;",
+                "public class BasePage {",
+                "    @AndroidFindBy(\"back\") public By back;",
+                "}");
+        source("pages/HomePage.java",
+                "package pages;",
+                "import com.joss.conductor.mobile.annotation.*;",
+                "import org.openqa.selenium.By;",
+                "public class HomePage extends BasePage {",
+                "    @AndroidFindBy(\"home\") public By home;",
+                "}");
+
+        Assertions.assertThat(compile()).isTrue();
+        Object page = newPage("pages.HomePage");
+        bind(page, Platform.ANDROID);
+
+        Assertions.assertThat(field(page, "home")).isEqualTo(By.id("home"));
+        Assertions.assertThat(field(page, "back")).isEqualTo(By.id("back"));
+    }
+
+    @Test
+    public void platform_find_by_helper_uses_binder() throws Exception {
+        source("pages/SearchPage.java",
+                "package pages;",
+                "import com.joss.conductor.mobile.annotation.*;",
+                "import org.openqa.selenium.By;",
+                "public class SearchPage {",
+                "    @AndroidFindBy(\"search\") public By search;",
+                "}");
+
+        Assertions.assertThat(compile()).isTrue();
+        Object page = newPage("pages.SearchPage");
+        PlatformFindByHelper.initIds(page, Platform.ANDROID);
+
+        Assertions.assertThat(field(page, "search")).isEqualTo(By.id("search"));
+    }
+
+    @Test
+    public void non_by_field_fails_the_compile() throws Exception {
+        source("pages/InvalidPage.java",
+                "package pages;",
+                "import com.joss.conductor.mobile.annotation.*;",
+                "public class InvalidPage {",
+                "    @AndroidFindBy(\"invalid\") public String invalid;",
+                "}");
+
+        Assertions.assertThat(compile()).isFalse();
+        Assertions.assertThat(errors()).contains("invalid must be of type By!");
+    }
+
+    @Test
+    public void private_field_fails_the_compile() throws Exception {
+        source("pages/PrivatePage.java",
+                "package pages;",
+                "import com.joss.conductor.mobile.annotation.*;",
+                "import org.openqa.selenium.By;",
+                "public class PrivatePage {",
+                "    @IOSFindBy(\"hidden\") private By hidden;",
+                "}");
+
+        Assertions.assertThat(compile()).isFalse();
+        Assertions.assertThat(errors()).contains("hidden must not be private to be bound by PrivatePage_Locators");
+    }
+
+    @Test
+    public void literals_are_escaped() {
+        Assertions.assertThat(PlatformFindByProcessor.literal("a\"b\\c\n"))
+                .isEqualTo("\"a\\\"b\\\\c\\n\"");
+    }
+
+    private void source(String path, String... lines) throws IOException {
+        Path file = sources.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+
+    private boolean compile() throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            List<File> sourceFiles = new ArrayList<>();
+            try (Stream<Path> paths = Files.walk(sources)) {
+                paths.filter(Files::isRegularFile).forEach(file -> sourceFiles.add(file.toFile()));
+            }
+            List<String> options = Arrays.asList(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", classes.toString(),
+                    "-s", classes.toString());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics, options, null,
+                    files.getJavaFileObjectsFromFiles(sourceFiles));
+            task.setProcessors(Collections.singletonList(new PlatformFindByProcessor()));
+            return task.call();
+        }
+    }
+
+    private String errors() {
+        StringBuilder errors = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.append(diagnostic.getMessage(null)).append('\n');
+            }
+        }
+        return errors.toString();
+    }
+
+    private Object newPage(String name) throws Exception {
+        ClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader());
+        return Class.forName(name, true, loader).newInstance();
+    }
+
+    private static void bind(Object page, Platform platform) throws Exception {
+        Class<?> binder = Class.forName(page.getClass().getName() + PlatformFindByProcessor.BINDER_SUFFIX, true,
+                page.getClass().getClassLoader());
+        binder.getMethod("bind", page.getClass(), Platform.class).invoke(null, page, platform);
+    }
+
+    private static Object field(Object page, String name) throws Exception {
+        Class<?> type = page.getClass();
+        while (true) {
+            try {
+                Field field = type.getDeclaredField(name);
+                field.setAccessible(true);
+                return field.get(page);
+            } catch (NoSuchFieldException e) {
+                type = type.getSuperclass();
+                if (type == null) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
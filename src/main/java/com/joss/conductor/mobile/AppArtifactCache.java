@@ -0,0 +1,321 @@
+package com.joss.conductor.mobile;
+
+import org.openqa.selenium.WebDriverException;
+import org.pmw.tinylog.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Keeps local copies of remote app files, so that the app is downloaded once per run instead of by every session.
+ * <p>
+ * Apps are stored content addressed, in {@code <appCacheDir>/<sha256>/<file name>}, and the url each copy came from
+ * is remembered in a {@code .url} file next to it so that later runs can reuse it after verifying its checksum. When
+ * the cache grows over {@link ConductorConfig#getAppCacheMaxSize()} the least recently used apps are deleted, except
+ * for the apps resolved during this run, which sessions may still be installing. Deleting an app changes
+ * {@link ConductorConfig#getVersion()}, so that configurations resolve their app path again.
+ * <p>
+ * A local copy only helps when Appium runs on this machine, see {@link #appliesTo(ConductorConfig)}.
+ */
+public class AppArtifactCache {
+
+    private static final AppArtifactCache INSTANCE = new AppArtifactCache();
+    private static final String URL_FILE = ".url";
+
+    private final Map<String, FutureTask<String>> resolved = new ConcurrentHashMap<>();
+    // Entries handed out during this run, never evicted
+    private final Set<Path> claimed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger deletions = new AtomicInteger();
+
+    public static AppArtifactCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return true if the app cache is enabled and sessions are started by an Appium server that can read local files
+     */
+    public static boolean appliesTo(ConductorConfig config) {
+        if (!config.isAppCache()) {
+            return false;
+        }
+        if (config.isLocal()) {
+            return true;
+        }
+        String host = config.getHub().getHost();
+        return "localhost".equalsIgnoreCase(host) || "127.0.0.1".equals(host) || "::1".equals(host);
+    }
+
+    /**
+     * @return the absolute path of the local copy of the app at the url, downloading it if necessary
+     * @throws WebDriverException if the app could not be downloaded or does not match the expected checksum
+     */
+    public String resolve(ConductorConfig config, String url) {
+        Path dir = Paths.get(config.getAppCacheDir()).toAbsolutePath();
+        String key = dir + "|" + url;
+        FutureTask<String> download = new FutureTask<>(() -> fetch(dir, url, config));
+        FutureTask<String> pending = resolved.putIfAbsent(key, download);
+        if (pending == null) {
+            // Concurrent sessions wait for the first one to download the app rather than downloading it themselves.
+            // The download runs outside of the map, so that resolving other apps is not held up.
+            download.run();
+            pending = download;
+        }
+
+        String path;
+        try {
+            path = pending.get();
+        } catch (ExecutionException exception) {
+            // Failures are not remembered, the next session tries again
+            resolved.remove(key, pending);
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw new WebDriverException("Could not download app from " + url, exception.getCause());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting for the download of " + url, exception);
+        }
+        touch(Paths.get(path));
+        return path;
+    }
+
+    private String fetch(Path dir, String url, ConductorConfig config) {
+        String expectedChecksum = config.getAppChecksum();
+        try {
+            Files.createDirectories(dir);
+
+            Path cached = findCached(dir, url, expectedChecksum);
+            if (cached != null) {
+                Logger.info("Using cached app {} for {}", cached, url);
+                return cached.toString();
+            }
+
+            long start = System.currentTimeMillis();
+            Path download = Files.createTempFile(dir, "download", ".tmp");
+            String checksum;
+            try {
+                try (DigestInputStream in = new DigestInputStream(new URL(url).openStream(), sha256());
+                     OutputStream out = Files.newOutputStream(download)) {
+                    copy(in, out);
+                    checksum = toHex(in.getMessageDigest().digest());
+                }
+                verify(url, checksum, expectedChecksum);
+
+                Path entry = dir.resolve(checksum);
+                Path app = entry.resolve(fileName(url));
+                synchronized (this) {
+                    Files.createDirectories(entry);
+                    Files.move(download, app, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    Files.write(entry.resolve(URL_FILE), url.getBytes("UTF-8"));
+                    claimed.add(entry);
+                }
+                Logger.info("Downloaded app {} to {} in {} ms", url, app, System.currentTimeMillis() - start);
+                evict(dir, entry, config.getAppCacheMaxSize() * 1024L * 1024L);
+                return app.toString();
+            } finally {
+                Files.deleteIfExists(download);
+            }
+        } catch (IOException exception) {
+            throw new WebDriverException("Could not download app from " + url, exception);
+        }
+    }
+
+    /**
+     * @return a cached copy of the url whose content still matches the hash it is stored under, or null
+     */
+    private Path findCached(Path dir, String url, String expectedChecksum) throws IOException {
+        for (Path entry : entries(dir)) {
+            Path urlFile = entry.resolve(URL_FILE);
+            if (!Files.isRegularFile(urlFile) || !url.equals(new String(Files.readAllBytes(urlFile), "UTF-8"))) {
+                continue;
+            }
+            String checksum = entry.getFileName().toString();
+            if (expectedChecksum != null && !checksum.equalsIgnoreCase(expectedChecksum)) {
+                continue;
+            }
+            Path app = entry.resolve(fileName(url));
+            if (Files.isRegularFile(app) && checksum.equals(hash(app))) {
+                synchronized (this) {
+                    // Claim it unless a concurrent eviction deleted it after it was hashed
+                    if (Files.isRegularFile(app)) {
+                        claimed.add(entry);
+                        return app;
+                    }
+                }
+                continue;
+            }
+            Logger.warn("Cached app {} is corrupt, downloading it again", app);
+            synchronized (this) {
+                delete(entry);
+                claimed.remove(entry);
+                forget(entry);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Deletes the least recently used apps until the cache fits in its maximum size. The app that was just added and
+     * the other apps resolved during this run are never deleted, even if they are larger than the cache.
+     */
+    private synchronized void evict(Path dir, Path keep, long maxBytes) throws IOException {
+        if (maxBytes <= 0) {
+            return;
+        }
+        List<Path> entries = entries(dir);
+        entries.sort(Comparator.comparing(AppArtifactCache::lastUsed));
+        long total = 0;
+        for (Path entry : entries) {
+            total += size(entry);
+        }
+        for (Path entry : entries) {
+            if (total <= maxBytes) {
+                break;
+            }
+            if (!entry.equals(keep) && !claimed.contains(entry)) {
+                total -= size(entry);
+                Logger.info("Evicting cached app {}", entry);
+                delete(entry);
+                forget(entry);
+            }
+        }
+    }
+
+    /**
+     * Drops the urls resolved to the deleted entry, so that they are downloaded again instead of pointing Appium at a
+     * missing file, and invalidates the app paths and capabilities that configurations derived from them.
+     */
+    private void forget(Path entry) {
+        resolved.values().removeIf(download -> {
+            String path = downloaded(download);
+            return path != null && Paths.get(path).startsWith(entry);
+        });
+        deletions.incrementAndGet();
+    }
+
+    /**
+     * @return the amount of cached apps deleted so far, part of {@link ConductorConfig#getVersion()}
+     */
+    int getDeletions() {
+        return deletions.get();
+    }
+
+    /**
+     * @return the path of the finished download, or null if it is still running or failed
+     */
+    private static String downloaded(Future<String> download) {
+        if (!download.isDone()) {
+            return null;
+        }
+        try {
+            return download.get();
+        } catch (ExecutionException | InterruptedException | CancellationException exception) {
+            return null;
+        }
+    }
+
+    private static void verify(String url, String checksum, String expectedChecksum) {
+        if (expectedChecksum != null && !checksum.equalsIgnoreCase(expectedChecksum)) {
+            throw new WebDriverException(String.format("Checksum of app downloaded from %s is %s but %s was expected",
+                    url, checksum, expectedChecksum));
+        }
+    }
+
+    private static List<Path> entries(Path dir) throws IOException {
+        List<Path> entries = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(dir)) {
+            paths.filter(Files::isDirectory).forEach(entries::add);
+        }
+        return entries;
+    }
+
+    private static String fileName(String url) {
+        String path = url.replaceAll("[?#].*$", "");
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        return name.isEmpty() ? "app" : name;
+    }
+
+    private static FileTime lastUsed(Path entry) {
+        try {
+            return Files.getLastModifiedTime(entry);
+        } catch (IOException exception) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void touch(Path app) {
+        try {
+            Files.setLastModifiedTime(app.getParent(), FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException exception) {
+            Logger.debug(exception, "Could not mark {} as used", app);
+        }
+    }
+
+    private static long size(Path entry) throws IOException {
+        try (Stream<Path> files = Files.walk(entry)) {
+            return files.map(Path::toFile).filter(File::isFile).mapToLong(File::length).sum();
+        }
+    }
+
+    private static void delete(Path entry) throws IOException {
+        try (Stream<Path> files = Files.walk(entry)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    static String hash(Path file) throws IOException {
+        try (DigestInputStream in = new DigestInputStream(Files.newInputStream(file), sha256())) {
+            copy(in, null);
+            return toHex(in.getMessageDigest().digest());
+        }
+    }
+
+    private static void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (out != null) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
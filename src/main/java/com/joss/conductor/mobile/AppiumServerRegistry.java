@@ -0,0 +1,108 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.service.local.AppiumDriverLocalService;
+import io.appium.java_client.service.local.AppiumServiceBuilder;
+import io.appium.java_client.service.local.flags.GeneralServerFlag;
+
+import org.openqa.selenium.WebDriverException;
+import org.pmw.tinylog.Logger;
+
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Owns the local Appium servers of this JVM.
+ * <p>
+ * Booting a Node Appium server costs seconds and hundreds of MB, so instead of starting one per session the registry
+ * starts up to {@link ConductorConfig#getLocalServerCount()} servers on distinct free ports and shares them between
+ * all sessions and threads. Servers are health checked before they are handed out, restarted when they died, and
+ * stopped by the JVM shutdown hook of the {@link SessionRegistry}.
+ * <p>
+ * Drivers must connect through {@link #getServerUrl(ConductorConfig)} rather than with the service itself, because
+ * quitting a driver that was created with a service also stops that service.
+ */
+public class AppiumServerRegistry {
+
+    private static final AppiumServerRegistry INSTANCE = new AppiumServerRegistry();
+
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile Slot[] slots = new Slot[0];
+
+    AppiumServerRegistry() {
+    }
+
+    public static AppiumServerRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the url of a running local Appium server, starting one if necessary
+     * @throws WebDriverException if the server could not be started
+     */
+    public URL getServerUrl(ConductorConfig config) {
+        Slot[] current = getSlots(Math.max(1, config.getLocalServerCount()));
+        Slot slot = current[Math.floorMod(next.getAndIncrement(), current.length)];
+        return slot.ensureRunning().getUrl();
+    }
+
+    /**
+     * Stops every server started by this registry.
+     */
+    public void stopAll() {
+        for (Slot slot : slots) {
+            slot.stop();
+        }
+    }
+
+    private Slot[] getSlots(int count) {
+        Slot[] current = slots;
+        if (current.length >= count) {
+            return current;
+        }
+        synchronized (this) {
+            if (slots.length < count) {
+                Slot[] grown = new Slot[count];
+                System.arraycopy(slots, 0, grown, 0, slots.length);
+                for (int i = slots.length; i < count; i++) {
+                    grown[i] = new Slot();
+                }
+                slots = grown;
+            }
+            return slots;
+        }
+    }
+
+    private static class Slot {
+        private AppiumDriverLocalService service;
+
+        synchronized AppiumDriverLocalService ensureRunning() {
+            if (service != null && service.isRunning()) {
+                return service;
+            }
+            if (service != null) {
+                Logger.warn("Local Appium server at {} is not responding, restarting it", service.getUrl());
+                service.stop();
+            }
+
+            try {
+                service = new AppiumServiceBuilder()
+                        .withArgument(GeneralServerFlag.LOG_LEVEL, "warn")
+                        .usingAnyFreePort()
+                        .build();
+                service.start();
+            } catch (RuntimeException exception) {
+                service = null;
+                throw new WebDriverException("Could not start local Appium server", exception);
+            }
+            Logger.info("Started local Appium server at {}", service.getUrl());
+            return service;
+        }
+
+        synchronized void stop() {
+            if (service != null) {
+                service.stop();
+                service = null;
+            }
+        }
+    }
+}
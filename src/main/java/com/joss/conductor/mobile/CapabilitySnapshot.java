@@ -0,0 +1,48 @@
+package com.joss.conductor.mobile;
+
+import org.openqa.selenium.remote.DesiredCapabilities;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable capabilities built from one version of a {@link ConductorConfig}.
+ * <p>
+ * A snapshot is built once per configuration version and shared by all threads. Sessions start from a copy
+ * ({@link #toDesiredCapabilities()}) which is cheap to make and safe to modify.
+ */
+public final class CapabilitySnapshot {
+
+    private final int version;
+    private final Map<String, Object> customCapabilities;
+    private final Map<String, Object> capabilities;
+
+    CapabilitySnapshot(int version, Map<String, Object> customCapabilities, DesiredCapabilities capabilities) {
+        this.version = version;
+        this.customCapabilities = new HashMap<>(customCapabilities);
+        this.capabilities = Collections.unmodifiableMap(new HashMap<>(capabilities.asMap()));
+    }
+
+    /**
+     * @return the {@link ConductorConfig#getVersion()} this snapshot was built from
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public Map<String, Object> asMap() {
+        return capabilities;
+    }
+
+    /**
+     * @return a mutable copy of the capabilities
+     */
+    public DesiredCapabilities toDesiredCapabilities() {
+        return new DesiredCapabilities(capabilities);
+    }
+
+    boolean isCurrent(ConductorConfig config) {
+        return version == config.getVersion() && customCapabilities.equals(config.getCustomCapabilities());
+    }
+}
@@ -3,6 +3,7 @@ package com.joss.conductor.mobile;
 import com.saucelabs.common.SauceOnDemandAuthentication;
 
 import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.remote.DesiredCapabilities;
 import org.pmw.tinylog.Logger;
 import org.yaml.snakeyaml.Yaml;
 
@@ -14,10 +15,15 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -51,6 +57,18 @@ public class ConductorConfig {
     private String appPackageName;
     private Map<String, Object> customCapabilities = new HashMap<>();
     private Boolean simpleIsVisibleCheck;
+    private boolean elementCache = false; // by default every action finds its element again
+    private boolean optimizeLocators = false; // by default locators are sent to Appium as they are
+    private boolean locatorProfiling = false;
+    private boolean pageSourceSnapshot = false; // by default every read is sent to the session
+    private int pageSourceSnapshotMaxAge = 5000; // millis, 0 means until the next action that can change the screen
+    private String waitPolling; // by default each wait polls at its own fixed interval
+    private int waitPollingInterval = 100; // millis
+    private int waitPollingMaxInterval = 1000; // millis
+    private int stableUiSamples = 3; // consecutive equal samples
+    private int stableUiInterval = 250; // millis
+    private int stableUiTimeout = 5000; // millis
+    private boolean nativeGestures = false; // by default swipes are W3C actions on both platforms
 
     // iOS specific
     private String xcodeSigningId;
@@ -73,10 +91,39 @@ public class ConductorConfig {
     private String newCommandTimeout;
     private String idleTimeout;
     private int startSessionRetries = 1; // by default try only once
+    private int startSessionRetryDelay = 1000; // millis, doubled on every retry
+    private int startSessionMaxRetryDelay = 30000;
+    private int startSessionTimeBudget = 0; // seconds, 0 means retries are only bound by startSessionRetries
+
+    // Session pool
+    private int sessionPoolSize = 0; // by default every test gets a new session
+    private int sessionPoolMaxUses = 0; // 0 means a pooled session can be reused indefinitely
+    private int sessionPoolMaxIdle = 300;
+    private boolean sessionPoolClearAppData = false;
+    private int sessionPrefetch = 0; // by default sessions are started when the test starts
+    private int localServerCount = 1;
+    private int sessionReapTimeout = 30; // seconds
+
+    // Device allocation
+    private List<String> devices = Collections.emptyList(); // by default every session uses the configured udid
+    private int deviceAllocationTimeout = 300; // seconds
+
+    // App cache
+    private boolean appCache = false; // by default remote apps are downloaded by Appium for every session
+    private String appCacheDir = "target/app-cache";
+    private int appCacheMaxSize = 2048; // MB, 0 means unbounded
+    private String appChecksum;
+    private boolean skipReinstall = false;
+    private boolean sessionStartupProbe = false;
 
     // dependencies
     private Map<String, String> environment;
 
+    // Derived state, rebuilt when the configuration changes
+    private final AtomicInteger version = new AtomicInteger();
+    private final Map<Object, CapabilitySnapshot> capabilitySnapshots = new ConcurrentHashMap<>();
+    private volatile ResolvedAppPath fullAppPath;
+
     public ConductorConfig() {
         this(DEFAULT_CONFIG_FILE, System.getenv());
     }
@@ -231,7 +278,12 @@ public class ConductorConfig {
                     Platform value = Platform.valueOf(propertyValue);
                     foundMethod.invoke(this, value);
                 }
-            } catch (IllegalAccessException | InvocationTargetException e) {
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof IllegalArgumentException) {
+                    throw (IllegalArgumentException) e.getCause();
+                }
+                Logger.warn(e, "Could not invoke method: $s", methodName);
+            } catch (IllegalAccessException e) {
                 Logger.warn(e, "Could not invoke method: $s", methodName);
             }
         }
@@ -243,6 +295,7 @@ public class ConductorConfig {
 
     public void setNoReset(boolean noReset) {
         this.noReset = noReset;
+        changed();
     }
 
     public String getAppiumVersion() {
@@ -251,6 +304,7 @@ public class ConductorConfig {
 
     public void setAppiumVersion(String appiumVersion) {
         this.appiumVersion = appiumVersion;
+        changed();
     }
 
     /***
@@ -271,10 +325,12 @@ public class ConductorConfig {
     @Deprecated
     public void setTimeout(int timeout) {
         this.appiumRequestTimeout = timeout;
+        changed();
     }
 
     public void setAppiumRequestTimeout(int appiumRequestTimeout) {
         this.appiumRequestTimeout = appiumRequestTimeout;
+        changed();
     }
 
     /***
@@ -295,10 +351,12 @@ public class ConductorConfig {
     @Deprecated
     public void setRetries(int retries) {
         this.implicitWaitTime = retries;
+        changed();
     }
 
     public void setImplicitWaitTime(int implicitWaitTime) {
         this.implicitWaitTime = implicitWaitTime;
+        changed();
     }
 
     public boolean isFullReset() {
@@ -307,6 +365,7 @@ public class ConductorConfig {
 
     public void setFullReset(boolean fullReset) {
         this.fullReset = fullReset;
+        changed();
     }
 
     public String getAppFile() {
@@ -315,6 +374,7 @@ public class ConductorConfig {
 
     public void setAppFile(String appFile) {
         this.appFile = appFile;
+        changed();
     }
 
     public String getLanguage() {
@@ -323,6 +383,7 @@ public class ConductorConfig {
 
     public void setLanguage(String language) {
         this.language = language;
+        changed();
     }
 
     public String getLocale() {
@@ -331,6 +392,7 @@ public class ConductorConfig {
 
     public void setLocale(String locale) {
         this.locale = locale;
+        changed();
     }
 
     public String getOrientation() {
@@ -339,6 +401,7 @@ public class ConductorConfig {
 
     public void setOrientation(String orientation) {
         this.orientation = orientation;
+        changed();
     }
 
     public URL getHub() {
@@ -356,10 +419,12 @@ public class ConductorConfig {
 
     public void setHub(String hub) {
         this.hub = hub;
+        changed();
     }
 
     public void setIsLocalHub(boolean isLocalHubValue) {
         this.islocalhub = isLocalHubValue;
+        changed();
     }
 
 
@@ -369,6 +434,7 @@ public class ConductorConfig {
 
     public void setUdid(String udid) {
         this.udid = udid;
+        changed();
     }
 
     public String getAutomationName() {
@@ -377,6 +443,7 @@ public class ConductorConfig {
 
     public void setAutomationName(String automationName) {
         this.automationName = automationName;
+        changed();
     }
 
     public String getXcodeSigningId() {
@@ -385,6 +452,7 @@ public class ConductorConfig {
 
     public void setXcodeSigningId(String xcodeSigningId) {
         this.xcodeSigningId = xcodeSigningId;
+        changed();
     }
 
     public String getXcodeOrgId() {
@@ -393,6 +461,7 @@ public class ConductorConfig {
 
     public void setXcodeOrgId(String xcodeOrgId) {
         this.xcodeOrgId = xcodeOrgId;
+        changed();
     }
 
     public String getAppActivity() {
@@ -401,6 +470,7 @@ public class ConductorConfig {
 
     public void setAppActivity(String appActivity) {
         this.appActivity = appActivity;
+        changed();
     }
 
     public String getAppWaitActivity() {
@@ -409,6 +479,7 @@ public class ConductorConfig {
 
     public void setAppWaitActivity(String appWaitActivity) {
         this.appWaitActivity = appWaitActivity;
+        changed();
     }
 
     public String getIntentCategory() {
@@ -417,6 +488,7 @@ public class ConductorConfig {
 
     public void setIntentCategory(String intentCategory) {
         this.intentCategory = intentCategory;
+        changed();
     }
 
     public String getPlatformVersion() {
@@ -425,6 +497,7 @@ public class ConductorConfig {
 
     public void setPlatformVersion(String platformVersion) {
         this.platformVersion = platformVersion;
+        changed();
     }
 
     public String getAppPackageName() {
@@ -433,6 +506,7 @@ public class ConductorConfig {
 
     public void setAppPackageName(String appPackageName) {
         this.appPackageName = appPackageName;
+        changed();
     }
 
     public boolean isScreenshotOnFail() {
@@ -441,6 +515,7 @@ public class ConductorConfig {
 
     public void setScreenshotOnFail(boolean screenshotOnFail) {
         this.screenshotOnFail = screenshotOnFail;
+        changed();
     }
 
     public boolean isScreenshotOnSkip() {
@@ -449,6 +524,7 @@ public class ConductorConfig {
 
     public void setScreenshotOnSkip(boolean screenshotOnSkip) {
         this.screenshotOnSkip = screenshotOnSkip;
+        changed();
     }
 
     public String getAvd() {
@@ -457,6 +533,7 @@ public class ConductorConfig {
 
     public void setAvd(String avd) {
         this.avd = avd;
+        changed();
     }
 
     public String getAvdArgs() {
@@ -465,6 +542,7 @@ public class ConductorConfig {
 
     public void setAvdArgs(String avdArgs) {
         this.avdArgs = avdArgs;
+        changed();
     }
 
     public String getDeviceName() {
@@ -473,6 +551,7 @@ public class ConductorConfig {
 
     public void setDeviceName(String deviceName) {
         this.deviceName = deviceName;
+        changed();
     }
 
     public boolean isAutoGrantPermissions() {
@@ -481,6 +560,7 @@ public class ConductorConfig {
 
     public void setAutoGrantPermissions(boolean autoGrantPermissions) {
         this.autoGrantPermissions = autoGrantPermissions;
+        changed();
     }
 
     public Boolean isWaitForQuiescence() {
@@ -493,6 +573,7 @@ public class ConductorConfig {
 
     public void setWaitForQuiescence(boolean waitForQuiescence) {
         this.waitForQuiescence = waitForQuiescence;
+        changed();
     }
 
 
@@ -514,22 +595,27 @@ public class ConductorConfig {
 
     public void setSauceUserName(String sauceUserName) {
         this.sauceUserName = sauceUserName;
+        changed();
     }
 
     public void setSauceAccessKey(String sauceAccessKey) {
         this.sauceAccessKey = sauceAccessKey;
+        changed();
     }
 
     public void setNewCommandTimeout(String newCommandTimeout) {
         this.newCommandTimeout = newCommandTimeout;
+        changed();
     }
 
     public void setIdleTimeout(String idleTimeout) {
         this.idleTimeout = idleTimeout;
+        changed();
     }
 
     public void setSimpleIsVisibleCheck(boolean value) {
         this.simpleIsVisibleCheck = value;
+        changed();
     }
 
     public Platform getPlatformName() {
@@ -541,7 +627,18 @@ public class ConductorConfig {
     }
 
     public String getFullAppPath() {
+        // Resolving may scan the app directory, so do it once per configuration version
+        ResolvedAppPath resolved = fullAppPath;
+        if (resolved == null || resolved.version != getVersion()) {
+            // Read the version first; a concurrent change then produces a path that is already out of date
+            int current = getVersion();
+            resolved = new ResolvedAppPath(current, resolveFullAppPath());
+            fullAppPath = resolved;
+        }
+        return resolved.path;
+    }
 
+    private String resolveFullAppPath() {
         if (appFile == null) {
             return null;
         }
@@ -553,6 +650,9 @@ public class ConductorConfig {
         // Make sure apps can be hosted remotely, e.g. on a github repo for example, check for this first
         try {
             URL url = new URL(appFile);
+            if (!url.getProtocol().equals("file") && AppArtifactCache.appliesTo(this)) {
+                return AppArtifactCache.getInstance().resolve(this, appFile);
+            }
             return appFile;
         } catch (MalformedURLException e) {
             // Ignore, this is expected to happen, parse as a regular path
@@ -592,6 +692,7 @@ public class ConductorConfig {
 
     public void setCustomCapabilities(Map<String, Object> customCapabilities) {
         this.customCapabilities = customCapabilities;
+        changed();
     }
 
     public Map<String, Object> getCustomCapabilities() {
@@ -649,5 +750,436 @@ public class ConductorConfig {
 
     public void setStartSessionRetries(int startSessionRetries) {
         this.startSessionRetries = startSessionRetries;
+        changed();
+    }
+
+    /**
+     * @return the delay in milliseconds before the first retry to start a session, later retries back off exponentially
+     */
+    public int getStartSessionRetryDelay() {
+        return startSessionRetryDelay;
+    }
+
+    public void setStartSessionRetryDelay(int startSessionRetryDelay) {
+        this.startSessionRetryDelay = startSessionRetryDelay;
+        changed();
+    }
+
+    public int getStartSessionMaxRetryDelay() {
+        return startSessionMaxRetryDelay;
+    }
+
+    public void setStartSessionMaxRetryDelay(int startSessionMaxRetryDelay) {
+        this.startSessionMaxRetryDelay = startSessionMaxRetryDelay;
+        changed();
+    }
+
+    /**
+     * @return the total amount of seconds that may be spent on starting a session, including retries
+     */
+    public int getStartSessionTimeBudget() {
+        return startSessionTimeBudget;
+    }
+
+    public void setStartSessionTimeBudget(int startSessionTimeBudget) {
+        this.startSessionTimeBudget = startSessionTimeBudget;
+        changed();
+    }
+
+    public int getSessionPoolSize() {
+        return sessionPoolSize;
+    }
+
+    public void setSessionPoolSize(int sessionPoolSize) {
+        this.sessionPoolSize = sessionPoolSize;
+        changed();
+    }
+
+    public int getSessionPoolMaxUses() {
+        return sessionPoolMaxUses;
+    }
+
+    public void setSessionPoolMaxUses(int sessionPoolMaxUses) {
+        this.sessionPoolMaxUses = sessionPoolMaxUses;
+        changed();
+    }
+
+    /**
+     * @return the amount of seconds a pooled session may sit idle before it is evicted, 0 disables eviction
+     */
+    public int getSessionPoolMaxIdle() {
+        return sessionPoolMaxIdle;
+    }
+
+    public void setSessionPoolMaxIdle(int sessionPoolMaxIdle) {
+        this.sessionPoolMaxIdle = sessionPoolMaxIdle;
+        changed();
+    }
+
+    public boolean isSessionPoolClearAppData() {
+        return sessionPoolClearAppData;
+    }
+
+    public void setSessionPoolClearAppData(boolean sessionPoolClearAppData) {
+        this.sessionPoolClearAppData = sessionPoolClearAppData;
+        changed();
+    }
+
+    /**
+     * @return the maximum amount of sessions started ahead of the tests that will use them, 0 disables prefetching
+     */
+    public int getSessionPrefetch() {
+        return sessionPrefetch;
+    }
+
+    public void setSessionPrefetch(int sessionPrefetch) {
+        this.sessionPrefetch = sessionPrefetch;
+        changed();
+    }
+
+    /**
+     * @return the amount of local Appium servers that are shared by all sessions of this JVM
+     */
+    public int getLocalServerCount() {
+        return localServerCount;
+    }
+
+    public void setLocalServerCount(int localServerCount) {
+        this.localServerCount = localServerCount;
+        changed();
+    }
+
+    /**
+     * @return the amount of seconds to wait for leaked sessions to quit when the suite ends or the JVM exits
+     */
+    public int getSessionReapTimeout() {
+        return sessionReapTimeout;
+    }
+
+    public void setSessionReapTimeout(int sessionReapTimeout) {
+        this.sessionReapTimeout = sessionReapTimeout;
+        changed();
+    }
+
+    /**
+     * @return the udids of the devices the tests of this JVM are spread over, a single {@code auto} entry to use every
+     * device reported by adb, or an empty list to use {@link #getUdid()} for every session
+     */
+    public List<String> getDevices() {
+        return devices;
+    }
+
+    /**
+     * @param devices comma separated udids, or {@code auto}. A yaml list is accepted as well.
+     */
+    public void setDevices(String devices) {
+        List<String> udids = new ArrayList<>();
+        for (String udid : devices.replaceAll("^\\s*\\[|]\\s*$", "").split(",")) {
+            if (!udid.trim().isEmpty()) {
+                udids.add(udid.trim());
+            }
+        }
+        this.devices = Collections.unmodifiableList(udids);
+        changed();
+    }
+
+    /**
+     * @return the amount of seconds a test waits for a device to be released when all devices are in use
+     */
+    public int getDeviceAllocationTimeout() {
+        return deviceAllocationTimeout;
+    }
+
+    public void setDeviceAllocationTimeout(int deviceAllocationTimeout) {
+        this.deviceAllocationTimeout = deviceAllocationTimeout;
+        changed();
+    }
+
+    /**
+     * @return true if remote app files are downloaded once into a local cache instead of by every session
+     */
+    public boolean isAppCache() {
+        return appCache;
+    }
+
+    public void setAppCache(boolean appCache) {
+        this.appCache = appCache;
+        changed();
+    }
+
+    public String getAppCacheDir() {
+        return appCacheDir;
+    }
+
+    public void setAppCacheDir(String appCacheDir) {
+        this.appCacheDir = appCacheDir;
+        changed();
+    }
+
+    /**
+     * @return the size in MB above which the least recently used apps are deleted from the app cache
+     */
+    public int getAppCacheMaxSize() {
+        return appCacheMaxSize;
+    }
+
+    public void setAppCacheMaxSize(int appCacheMaxSize) {
+        this.appCacheMaxSize = appCacheMaxSize;
+        changed();
+    }
+
+    /**
+     * @return the expected sha256 of the app file, or null to accept any content
+     */
+    public String getAppChecksum() {
+        return appChecksum;
+    }
+
+    public void setAppChecksum(String appChecksum) {
+        this.appChecksum = appChecksum;
+        changed();
+    }
+
+    /**
+     * @return true if sessions launch the installed app instead of installing the app file again when the device is
+     * known to have the same build installed
+     */
+    public boolean isSkipReinstall() {
+        return skipReinstall;
+    }
+
+    public void setSkipReinstall(boolean skipReinstall) {
+        this.skipReinstall = skipReinstall;
+        changed();
+    }
+
+    /**
+     * @return true if a cheap command is sent right after a session started, to time how long it takes to respond
+     */
+    public boolean isSessionStartupProbe() {
+        return sessionStartupProbe;
+    }
+
+    public void setSessionStartupProbe(boolean sessionStartupProbe) {
+        this.sessionStartupProbe = sessionStartupProbe;
+        changed();
+    }
+
+    /**
+     * @return true if elements found by a {@link org.openqa.selenium.By} are reused by following actions until the
+     * screen changes
+     */
+    public boolean isElementCache() {
+        return elementCache;
+    }
+
+    public void setElementCache(boolean elementCache) {
+        this.elementCache = elementCache;
+        changed();
+    }
+
+    /**
+     * @return true if recognizable XPath and name locators are rewritten into the faster native strategies of the
+     * platform, see {@link LocatorOptimizer}
+     */
+    public boolean isOptimizeLocators() {
+        return optimizeLocators;
+    }
+
+    public void setOptimizeLocators(boolean optimizeLocators) {
+        this.optimizeLocators = optimizeLocators;
+        changed();
+    }
+
+    /**
+     * @return true if the element lookups of {@link Locomotive} are timed per locator, see {@link LocatorProfiler}
+     */
+    public boolean isLocatorProfiling() {
+        return locatorProfiling;
+    }
+
+    public void setLocatorProfiling(boolean locatorProfiling) {
+        this.locatorProfiling = locatorProfiling;
+        changed();
+    }
+
+    /**
+     * @return true if reads and validations are answered from one page source per screen, see
+     * {@link PageSourceSnapshot}
+     */
+    public boolean isPageSourceSnapshot() {
+        return pageSourceSnapshot;
+    }
+
+    public void setPageSourceSnapshot(boolean pageSourceSnapshot) {
+        this.pageSourceSnapshot = pageSourceSnapshot;
+        changed();
+    }
+
+    /**
+     * @return the milliseconds after which a page source snapshot is fetched again, 0 to keep it until an action that
+     * can change the screen
+     */
+    public int getPageSourceSnapshotMaxAge() {
+        return pageSourceSnapshotMaxAge;
+    }
+
+    public void setPageSourceSnapshotMaxAge(int pageSourceSnapshotMaxAge) {
+        this.pageSourceSnapshotMaxAge = pageSourceSnapshotMaxAge;
+        changed();
+    }
+
+    /**
+     * @return the {@link PollingPolicy} of the waits of {@link Locomotive}: fixed, exponential, fibonacci or adaptive,
+     * or null for the interval of each wait
+     */
+    public String getWaitPolling() {
+        return waitPolling;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the name is not one of the policies, so that a typo fails the configuration
+     * instead of the first wait
+     */
+    public void setWaitPolling(String waitPolling) {
+        if (waitPolling != null) {
+            PollingPolicy.of(waitPolling, waitPollingInterval, waitPollingMaxInterval);
+        }
+        this.waitPolling = waitPolling;
+        changed();
+    }
+
+    /**
+     * @return the milliseconds between polls of the fixed policy, and the first interval of the others
+     */
+    public int getWaitPollingInterval() {
+        return waitPollingInterval;
+    }
+
+    public void setWaitPollingInterval(int waitPollingInterval) {
+        this.waitPollingInterval = waitPollingInterval;
+        changed();
+    }
+
+    /**
+     * @return the milliseconds the interval of the growing polling policies stays below
+     */
+    public int getWaitPollingMaxInterval() {
+        return waitPollingMaxInterval;
+    }
+
+    public void setWaitPollingMaxInterval(int waitPollingMaxInterval) {
+        this.waitPollingMaxInterval = waitPollingMaxInterval;
+        changed();
+    }
+
+    /**
+     * @return the amount of consecutive equal samples of the screen after which {@link Locomotive#waitForStableUi()}
+     * considers it stable
+     */
+    public int getStableUiSamples() {
+        return stableUiSamples;
+    }
+
+    public void setStableUiSamples(int stableUiSamples) {
+        this.stableUiSamples = stableUiSamples;
+        changed();
+    }
+
+    /**
+     * @return the milliseconds between samples of the screen taken by {@link Locomotive#waitForStableUi()}
+     */
+    public int getStableUiInterval() {
+        return stableUiInterval;
+    }
+
+    public void setStableUiInterval(int stableUiInterval) {
+        this.stableUiInterval = stableUiInterval;
+        changed();
+    }
+
+    /**
+     * @return the milliseconds after which {@link Locomotive#waitForStableUi()} gives up waiting
+     */
+    public int getStableUiTimeout() {
+        return stableUiTimeout;
+    }
+
+    public void setStableUiTimeout(int stableUiTimeout) {
+        this.stableUiTimeout = stableUiTimeout;
+        changed();
+    }
+
+    /**
+     * @return true if swipes use the native gestures of the automation engine where there are any, see
+     * {@link GestureEngine}
+     */
+    public boolean isNativeGestures() {
+        return nativeGestures;
+    }
+
+    public void setNativeGestures(boolean nativeGestures) {
+        this.nativeGestures = nativeGestures;
+        changed();
+    }
+
+    /**
+     * @return a number that changes every time a setter of this configuration is called, or a cached app is deleted
+     * from the {@link AppArtifactCache}
+     */
+    public int getVersion() {
+        // Both counters only grow, so their sum changes whenever either does
+        return version.get() + AppArtifactCache.getInstance().getDeletions();
+    }
+
+    /**
+     * Returns the capabilities for the current version of this configuration, building them with the given builder
+     * only if the configuration changed since the last call with the same builder.
+     *
+     * @param builder builds the capabilities from this configuration
+     */
+    public CapabilitySnapshot getCapabilitySnapshot(Function<ConductorConfig, DesiredCapabilities> builder) {
+        return getCapabilitySnapshot(builder, builder);
+    }
+
+    /**
+     * Like {@link #getCapabilitySnapshot(Function)}, for builders that are created anew for every call, e.g. method
+     * references.
+     *
+     * @param key     identifies the builder, e.g. the class whose method builds the capabilities. Builders with
+     *                different keys get snapshots of their own.
+     * @param builder builds the capabilities from this configuration
+     */
+    public CapabilitySnapshot getCapabilitySnapshot(Object key,
+                                                    Function<ConductorConfig, DesiredCapabilities> builder) {
+        CapabilitySnapshot snapshot = capabilitySnapshots.get(key);
+        if (snapshot == null || !snapshot.isCurrent(this)) {
+            // Read the version first; a concurrent change then produces a snapshot that is already out of date
+            int current = getVersion();
+            snapshot = new CapabilitySnapshot(current, customCapabilities, builder.apply(this));
+            capabilitySnapshots.put(key, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Called by every setter after assigning its field, so that a version read concurrently is never newer than the
+     * fields it is read together with.
+     */
+    private void changed() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * The app path together with the configuration version it was resolved from, published as one value.
+     */
+    private static final class ResolvedAppPath {
+        private final int version;
+        private final String path;
+
+        ResolvedAppPath(int version, String path) {
+            this.version = version;
+            this.path = path;
+        }
     }
 }
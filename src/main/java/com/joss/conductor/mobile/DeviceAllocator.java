@@ -0,0 +1,183 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.remote.AndroidMobileCapabilityType;
+import io.appium.java_client.remote.IOSMobileCapabilityType;
+import io.appium.java_client.remote.MobileCapabilityType;
+
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.pmw.tinylog.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Hands every test thread an exclusive device, so that parallel TestNG runs can fan out over all attached devices
+ * instead of sharing the single {@code udid} of the {@link ConductorConfig}.
+ * <p>
+ * Each device owns a fixed set of ports (systemPort, chromedriverPort, mjpegServerPort and wdaLocalPort) derived from
+ * its position in the device list, so that sessions running side by side never collide. Free devices are kept in a
+ * lock-free queue; acquiring and releasing a device never blocks other threads.
+ */
+public class DeviceAllocator {
+
+    public static final String AUTO_DISCOVER = "auto";
+
+    static final int SYSTEM_PORT_BASE = 8200;
+    static final int CHROMEDRIVER_PORT_BASE = 9515;
+    static final int MJPEG_SERVER_PORT_BASE = 7810;
+    static final int WDA_LOCAL_PORT_BASE = 8100;
+
+    private static final Map<List<String>, DeviceAllocator> ALLOCATORS = new ConcurrentHashMap<>();
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final ConcurrentLinkedQueue<Device> free = new ConcurrentLinkedQueue<>();
+    private final int size;
+
+    public DeviceAllocator(List<String> udids) {
+        if (udids.isEmpty()) {
+            throw new IllegalArgumentException("At least one device is required to allocate devices");
+        }
+        for (int i = 0; i < udids.size(); i++) {
+            free.add(new Device(udids.get(i), i));
+        }
+        size = udids.size();
+    }
+
+    /**
+     * @return the allocator shared by every thread using the device list of the configuration, or null if the
+     * configuration does not specify a device list
+     */
+    public static DeviceAllocator forConfig(ConductorConfig config) {
+        List<String> udids = config.getDevices();
+        if (udids.isEmpty()) {
+            return null;
+        }
+        return ALLOCATORS.computeIfAbsent(udids, key -> {
+            List<String> resolved = key.size() == 1 && AUTO_DISCOVER.equals(key.get(0))
+                    ? discoverAndroidDevices()
+                    : key;
+            Logger.info("Allocating tests over devices {}", resolved);
+            return new DeviceAllocator(resolved);
+        });
+    }
+
+    /**
+     * Takes a free device, waiting for one to be released if all of them are in use.
+     *
+     * @throws WebDriverException if no device became available within the timeout
+     */
+    public Device acquire(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        long park = TimeUnit.MILLISECONDS.toNanos(1);
+        while (true) {
+            Device device = free.poll();
+            if (device != null) {
+                return device;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                throw new WebDriverException(String.format("None of the %d devices became available within %d %s",
+                        size, timeout, unit.name().toLowerCase()));
+            }
+            LockSupport.parkNanos(park);
+            park = Math.min(park * 2, MAX_PARK_NANOS);
+        }
+    }
+
+    public void release(Device device) {
+        free.add(device);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the serials of all Android devices reported as ready by {@code adb devices}
+     */
+    public static List<String> discoverAndroidDevices() {
+        List<String> udids;
+        try {
+            Process process = new ProcessBuilder("adb", "devices").redirectErrorStream(true).start();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                udids = parseAdbDevices(reader.lines());
+            }
+            process.waitFor();
+        } catch (IOException exception) {
+            throw new WebDriverException("Could not discover devices with adb", exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while discovering devices with adb", exception);
+        }
+        return udids;
+    }
+
+    static List<String> parseAdbDevices(Stream<String> lines) {
+        List<String> udids = new ArrayList<>();
+        lines.map(String::trim)
+                .filter(line -> line.matches("\\S+\\s+device"))
+                .forEach(line -> udids.add(line.split("\\s+")[0]));
+        return Collections.unmodifiableList(udids);
+    }
+
+    /**
+     * A device exclusively owned by one test thread at a time, along with the ports its session must use.
+     */
+    public static class Device {
+        private final String udid;
+        private final int index;
+
+        Device(String udid, int index) {
+            this.udid = udid;
+            this.index = index;
+        }
+
+        public String getUdid() {
+            return udid;
+        }
+
+        public int getSystemPort() {
+            return SYSTEM_PORT_BASE + index;
+        }
+
+        public int getChromedriverPort() {
+            return CHROMEDRIVER_PORT_BASE + index;
+        }
+
+        public int getMjpegServerPort() {
+            return MJPEG_SERVER_PORT_BASE + index;
+        }
+
+        public int getWdaLocalPort() {
+            return WDA_LOCAL_PORT_BASE + index;
+        }
+
+        public void applyTo(DesiredCapabilities capabilities, Platform platform) {
+            capabilities.setCapability(MobileCapabilityType.UDID, udid);
+            capabilities.setCapability("mjpegServerPort", getMjpegServerPort());
+            if (platform == Platform.IOS) {
+                capabilities.setCapability(IOSMobileCapabilityType.WDA_LOCAL_PORT, getWdaLocalPort());
+            } else {
+                capabilities.setCapability(AndroidMobileCapabilityType.SYSTEM_PORT, getSystemPort());
+                capabilities.setCapability(AndroidMobileCapabilityType.CHROMEDRIVER_PORT, getChromedriverPort());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return udid;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.SessionId;
+import org.pmw.tinylog.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Remembers the elements found by {@link By} on the current screen of a session, so that consecutive operations on the
+ * same element share a single find request.
+ * <p>
+ * The cache must be {@link #invalidate() invalidated} by every action that can change the screen. Elements that went
+ * stale anyway, e.g. because the app changed the screen by itself, are found again transparently.
+ * <p>
+ * Instances are not thread safe, {@link Locomotive} keeps one per thread.
+ */
+public class ElementCache {
+
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private SessionId sessionId;
+
+    /**
+     * Applies the action to the element located by the {@link By}, using the cached element if there is one.
+     */
+    public <T> T withElement(AppiumDriver driver, By by, Function<WebElement, T> action) {
+        return withElement(driver, by, driver::findElement, action);
+    }
+
+    /**
+     * Applies the action to the element located by the {@link By}, using the cached element if there is one and the
+     * finder to find it otherwise.
+     */
+    public <T> T withElement(AppiumDriver driver, By by, Function<By, WebElement> finder,
+                             Function<WebElement, T> action) {
+        if (sessionId == null || !sessionId.equals(driver.getSessionId())) {
+            // elements of another session are meaningless
+            elements.clear();
+            sessionId = driver.getSessionId();
+        }
+
+        WebElement element = elements.get(by);
+        if (element == null) {
+            return action.apply(find(finder, by));
+        }
+        try {
+            return action.apply(element);
+        } catch (StaleElementReferenceException exception) {
+            Logger.debug("Cached element {} is stale, finding it again", by);
+            return action.apply(find(finder, by));
+        }
+    }
+
+    /**
+     * Forgets all elements, to be called after the screen may have changed.
+     */
+    public void invalidate() {
+        elements.clear();
+    }
+
+    int size() {
+        return elements.size();
+    }
+
+    private WebElement find(Function<By, WebElement> finder, By by) {
+        elements.remove(by);
+        WebElement element = finder.apply(by);
+        elements.put(by, element);
+        return element;
+    }
+}
@@ -0,0 +1,63 @@
+package com.joss.conductor.mobile;
+
+import org.openqa.selenium.Rectangle;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The text, some attributes and the bounds of an element, read at one point in time.
+ * <p>
+ * Snapshots are returned by {@link Locomotive#readElements(org.openqa.selenium.By, String...)}, which reads many
+ * elements at once instead of asking Appium for every value separately.
+ */
+public class ElementSnapshot {
+
+    private final String text;
+    private final Map<String, String> attributes;
+    private final Rectangle rect;
+
+    public ElementSnapshot(String text, Map<String, String> attributes, Rectangle rect) {
+        this.text = text;
+        this.attributes = Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+        this.rect = rect;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return the value of one of the attributes that were read, or null if the element does not have it
+     */
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    /**
+     * @return the attributes that were read, by name
+     */
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * @return the bounds of the element, or null if they are unknown
+     */
+    public Rectangle getRect() {
+        return rect;
+    }
+
+    @Override
+    public String toString() {
+        return "ElementSnapshot{text='" + text + "', attributes=" + attributes + ", rect=" + rectToString() + "}";
+    }
+
+    private String rectToString() {
+        if (rect == null) {
+            return "null";
+        }
+        return "[" + rect.getX() + "," + rect.getY() + " " + rect.getWidth() + "x" + rect.getHeight() + "]";
+    }
+}
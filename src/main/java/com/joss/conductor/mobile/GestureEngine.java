@@ -0,0 +1,147 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+
+import org.openqa.selenium.Point;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Pause;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.pmw.tinylog.Logger;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Performs the taps and swipes of {@link Locomotive} as W3C actions.
+ * <p>
+ * Every gesture is a single pointer sequence in absolute viewport coordinates, which both UiAutomator2 and XCUITest
+ * understand the same way and perform in one command. The deprecated {@code TouchAction} chains needed relative
+ * coordinates on iOS only.
+ * <p>
+ * With native gestures, straight swipes on Android are sent as {@code mobile: swipeGesture}, which UiAutomator2
+ * performs on the device without replaying pointer events. Sessions that do not support it, e.g. other automation
+ * engines, are remembered and fall back to W3C actions.
+ */
+public class GestureEngine {
+
+    private static final GestureEngine INSTANCE = new GestureEngine();
+    private static final PointerInput FINGER = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+    private static final Duration LONG_PRESS = Duration.ofMillis(1000);
+
+    private final Set<AppiumDriver> withoutNativeGestures =
+            Collections.newSetFromMap(Collections.synchronizedMap(new WeakHashMap<>()));
+
+    GestureEngine() {
+    }
+
+    public static GestureEngine getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Taps the center of the element.
+     *
+     * @throws IllegalArgumentException if the element is not an element of the session
+     */
+    public void tap(AppiumDriver driver, WebElement element) {
+        driver.perform(Collections.singletonList(tap(element)));
+    }
+
+    /**
+     * Swipes from one point to the other, moving the finger during the duration.
+     *
+     * @param longPress      true to hold the finger still before moving it, e.g. to drag items
+     * @param nativeGestures true to use the native swipe gesture of the automation engine where there is one
+     */
+    public void swipe(AppiumDriver driver, Platform platform, Point from, Point to, Duration duration,
+                      boolean longPress, boolean nativeGestures) {
+        if (nativeGestures && !longPress && platform == Platform.ANDROID && nativeSwipe(driver, from, to, duration)) {
+            return;
+        }
+        driver.perform(Collections.singletonList(swipe(from, to, duration, longPress)));
+    }
+
+    static Sequence tap(WebElement element) {
+        WebElement unwrapped = element;
+        while (unwrapped instanceof WrapsElement && !(unwrapped instanceof RemoteWebElement)) {
+            unwrapped = ((WrapsElement) unwrapped).getWrappedElement();
+        }
+        if (!(unwrapped instanceof RemoteWebElement) || ((RemoteWebElement) unwrapped).getId() == null) {
+            throw new IllegalArgumentException("Element should be defined");
+        }
+        return new Sequence(FINGER, 0)
+                .addAction(FINGER.createPointerMove(Duration.ZERO, PointerInput.Origin.fromElement(unwrapped), 0, 0))
+                .addAction(FINGER.createPointerDown(PointerInput.MouseButton.LEFT.asArg()))
+                .addAction(FINGER.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+    }
+
+    static Sequence swipe(Point from, Point to, Duration duration, boolean longPress) {
+        Sequence swipe = new Sequence(FINGER, 0)
+                .addAction(FINGER.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(),
+                        from.getX(), from.getY()))
+                .addAction(FINGER.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        if (longPress) {
+            swipe.addAction(new Pause(FINGER, LONG_PRESS));
+        }
+        return swipe
+                .addAction(FINGER.createPointerMove(duration, PointerInput.Origin.viewport(), to.getX(), to.getY()))
+                .addAction(FINGER.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+    }
+
+    /**
+     * @return false if the swipe has to be performed with W3C actions instead
+     */
+    private boolean nativeSwipe(AppiumDriver driver, Point from, Point to, Duration duration) {
+        Map<String, Object> gesture = swipeGesture(from, to, duration);
+        if (gesture == null || withoutNativeGestures.contains(driver)) {
+            return false;
+        }
+        try {
+            driver.executeScript("mobile: swipeGesture", gesture);
+            return true;
+        } catch (WebDriverException exception) {
+            Logger.debug(exception, "Native swipe gesture is not supported, using W3C actions for this session");
+            withoutNativeGestures.add(driver);
+            return false;
+        }
+    }
+
+    /**
+     * @return the arguments of {@code mobile: swipeGesture} for a swipe between the points, or null if the swipe is
+     * not along one axis
+     */
+    static Map<String, Object> swipeGesture(Point from, Point to, Duration duration) {
+        int dx = to.getX() - from.getX();
+        int dy = to.getY() - from.getY();
+        if ((dx == 0) == (dy == 0)) {
+            return null;
+        }
+        // The gesture swipes across the whole area, so the area is the path of the finger
+        Map<String, Object> gesture = new HashMap<>();
+        if (dx == 0) {
+            gesture.put("left", from.getX() - 1);
+            gesture.put("top", Math.min(from.getY(), to.getY()));
+            gesture.put("width", 2);
+            gesture.put("height", Math.abs(dy));
+            gesture.put("direction", dy < 0 ? "up" : "down");
+        } else {
+            gesture.put("left", Math.min(from.getX(), to.getX()));
+            gesture.put("top", from.getY() - 1);
+            gesture.put("width", Math.abs(dx));
+            gesture.put("height", 2);
+            gesture.put("direction", dx < 0 ? "left" : "right");
+        }
+        gesture.put("percent", 1.0);
+        // pixels per second, so that the swipe takes as long as a W3C swipe would
+        gesture.put("speed", Math.max(1, Math.abs(dx + dy) * 1000 / Math.max(1, duration.toMillis())));
+        return gesture;
+    }
+}
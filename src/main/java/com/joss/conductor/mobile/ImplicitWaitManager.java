@@ -0,0 +1,68 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Sets the implicit wait of sessions and remembers the value each session has on the server, so that setting it to
+ * the value it already has costs no command.
+ * <p>
+ * The implicit wait makes element lookups wait for elements to appear, which is what actions on an element need but
+ * what checks that an element is absent, or polls of a wait, must not do: they would block for the whole implicit
+ * wait. {@link #withoutImplicitWait(AppiumDriver, Supplier)} runs such checks with the implicit wait at zero.
+ * <p>
+ * Values are kept per driver rather than per thread, because pooled sessions move between threads and keep their
+ * implicit wait. Sessions that were never set through this class are assumed to have Appium's default of zero.
+ */
+public class ImplicitWaitManager {
+
+    private static final ImplicitWaitManager INSTANCE = new ImplicitWaitManager();
+
+    private final Map<AppiumDriver, Long> current = Collections.synchronizedMap(new WeakHashMap<>());
+
+    ImplicitWaitManager() {
+    }
+
+    public static ImplicitWaitManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Sets the implicit wait of the session, unless it already has that value.
+     */
+    public void apply(AppiumDriver driver, long millis) {
+        if (getImplicitWait(driver) != millis) {
+            driver.manage().timeouts().implicitlyWait(millis, TimeUnit.MILLISECONDS);
+            current.put(driver, millis);
+        }
+    }
+
+    /**
+     * @return the implicit wait the session has on the server, in milliseconds
+     */
+    public long getImplicitWait(AppiumDriver driver) {
+        return current.getOrDefault(driver, 0L);
+    }
+
+    /**
+     * Runs the lookup with the implicit wait of the session at zero, restoring it afterwards. Sessions whose implicit
+     * wait is zero already cost no extra commands.
+     */
+    public <T> T withoutImplicitWait(AppiumDriver driver, Supplier<T> lookup) {
+        long previous = getImplicitWait(driver);
+        if (previous == 0) {
+            return lookup.get();
+        }
+        apply(driver, 0);
+        try {
+            return lookup.get();
+        } finally {
+            apply(driver, previous);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.joss.conductor.mobile;
+
+import com.joss.conductor.mobile.util.ArtifactUtil;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.remote.AndroidMobileCapabilityType;
+import io.appium.java_client.remote.IOSMobileCapabilityType;
+import io.appium.java_client.remote.MobileCapabilityType;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.pmw.tinylog.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Remembers which build of the app is installed on each device, so that sessions can skip reinstalling it.
+ * <p>
+ * After a session installed the app, the sha256 of the app file and, on Android, the installed version code are
+ * recorded for the device. When a later session would install the very same file on a device whose installed version
+ * code is unchanged, the {@code app} capability is dropped and the session launches the installed app by its package
+ * or bundle id instead. Once the session started, the app is checked to still be installed and installed again if
+ * it is not.
+ * <p>
+ * The state is kept in {@code target/test-artifacts/install-state.properties} so that it survives between runs.
+ */
+public class InstallStateTracker {
+
+    private static final InstallStateTracker INSTANCE = new InstallStateTracker(
+            Paths.get(ArtifactUtil.WORKING_DIR, ArtifactUtil.DIR, "install-state.properties"));
+    private static final Pattern VERSION_CODE = Pattern.compile("versionCode=(\\d+)");
+
+    private final Path stateFile;
+    private final Properties state = new Properties();
+    private final Map<String, FileHash> hashes = new ConcurrentHashMap<>();
+
+    InstallStateTracker(Path stateFile) {
+        this.stateFile = stateFile;
+        if (Files.isRegularFile(stateFile)) {
+            try (InputStream in = Files.newInputStream(stateFile)) {
+                state.load(in);
+            } catch (IOException exception) {
+                Logger.warn(exception, "Could not read install state from {}, apps will be installed again", stateFile);
+            }
+        }
+    }
+
+    public static InstallStateTracker getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Drops the {@code app} capability if the same app file is known to be installed on the device.
+     *
+     * @return the installation to {@link #confirm(AppiumDriver, Installation)} once the session started, or null if
+     * the app's install state cannot be tracked for these capabilities
+     */
+    public Installation prepare(ConductorConfig config, DesiredCapabilities capabilities) {
+        Object udid = capabilities.getCapability(MobileCapabilityType.UDID);
+        Object app = capabilities.getCapability(MobileCapabilityType.APP);
+        String appId = appId(config, capabilities);
+        // A blank udid would share its install state with every other device
+        if (config.isFullReset() || udid == null || StringUtils.isBlank(udid.toString()) || app == null
+                || appId == null || !new File(app.toString()).isFile()) {
+            return null;
+        }
+
+        Installation installation = new Installation(config.getPlatformName(), udid.toString(), appId, app.toString(),
+                hash(app.toString()));
+        if (config.getPlatformName() == Platform.ANDROID
+                && capabilities.getCapability(AndroidMobileCapabilityType.APP_ACTIVITY) == null) {
+            // Without an activity the installed app cannot be launched by package
+            return installation;
+        }
+
+        // Only ask adb for the version code if the same file was installed, the comparison fails without it anyway
+        String recorded = state.getProperty(installation.key());
+        if (recorded == null || !recorded.startsWith(installation.hash + ",")) {
+            return installation;
+        }
+        String versionCode = versionCode(installation);
+        if (recorded.equals(installation.hash + "," + versionCode)) {
+            Logger.info("{} is already installed on {}, skipping reinstall", app, udid);
+            capabilities.setCapability(MobileCapabilityType.APP, (Object) null);
+            if (config.getPlatformName() == Platform.IOS) {
+                capabilities.setCapability(IOSMobileCapabilityType.BUNDLE_ID, appId);
+            } else {
+                capabilities.setCapability(AndroidMobileCapabilityType.APP_PACKAGE, appId);
+            }
+            installation.skipped = true;
+            // The installed app stays as it is, so recording it does not need to ask adb again
+            installation.versionCode = versionCode;
+        }
+        return installation;
+    }
+
+    /**
+     * Records the app as installed, installing it first if the session skipped a reinstall of an app that is gone.
+     */
+    public void confirm(AppiumDriver driver, Installation installation) {
+        try {
+            if (installation.skipped && !driver.isAppInstalled(installation.appId)) {
+                Logger.warn("{} is no longer installed on {}, installing it", installation.appId, installation.udid);
+                driver.installApp(installation.appPath);
+                driver.activateApp(installation.appId);
+                installation.versionCode = null;
+            }
+            record(installation);
+        } catch (WebDriverException exception) {
+            Logger.warn(exception, "Could not verify that {} is installed on {}", installation.appId, installation.udid);
+            forget(installation);
+        }
+    }
+
+    private synchronized void record(Installation installation) {
+        String versionCode = installation.versionCode != null ? installation.versionCode : versionCode(installation);
+        String value = installation.hash + "," + versionCode;
+        if (!value.equals(state.getProperty(installation.key()))) {
+            state.setProperty(installation.key(), value);
+            save();
+        }
+    }
+
+    private synchronized void forget(Installation installation) {
+        if (state.remove(installation.key()) != null) {
+            save();
+        }
+    }
+
+    private void save() {
+        try {
+            Files.createDirectories(stateFile.getParent());
+            try (OutputStream out = Files.newOutputStream(stateFile)) {
+                state.store(out, "sha256 and version code of the app last installed on each device");
+            }
+        } catch (IOException exception) {
+            Logger.warn(exception, "Could not write install state to {}", stateFile);
+        }
+    }
+
+    private static String appId(ConductorConfig config, DesiredCapabilities capabilities) {
+        Object appId = capabilities.getCapability(config.getPlatformName() == Platform.IOS
+                ? IOSMobileCapabilityType.BUNDLE_ID
+                : AndroidMobileCapabilityType.APP_PACKAGE);
+        if (appId != null) {
+            return appId.toString();
+        }
+        return config.getAppPackageName();
+    }
+
+    /**
+     * Hashing a large app takes a while, so hashes are kept until the file changes.
+     */
+    private String hash(String path) {
+        File file = new File(path);
+        FileHash cached = hashes.get(path);
+        if (cached == null || cached.length != file.length() || cached.lastModified != file.lastModified()) {
+            try {
+                cached = new FileHash(file.length(), file.lastModified(), AppArtifactCache.hash(file.toPath()));
+            } catch (IOException exception) {
+                throw new WebDriverException("Could not read app file " + path, exception);
+            }
+            hashes.put(path, cached);
+        }
+        return cached.hash;
+    }
+
+    /**
+     * @return the version code of the app installed on the device, or an empty string if it is unknown
+     */
+    String versionCode(Installation installation) {
+        if (installation.platform != Platform.ANDROID) {
+            return "";
+        }
+        try {
+            Process process = new ProcessBuilder("adb", "-s", installation.udid, "shell", "dumpsys", "package",
+                    installation.appId).redirectErrorStream(true).start();
+            String versionCode = "";
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Matcher matcher = VERSION_CODE.matcher(line);
+                    if (versionCode.isEmpty() && matcher.find()) {
+                        versionCode = matcher.group(1);
+                    }
+                }
+            }
+            process.waitFor();
+            return versionCode;
+        } catch (IOException exception) {
+            // adb is not available when the device is attached to a remote machine
+            return "";
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return "";
+        }
+    }
+
+    /**
+     * An app file that a session is about to use on a device.
+     */
+    public static class Installation {
+        private final Platform platform;
+        private final String udid;
+        private final String appId;
+        private final String appPath;
+        private final String hash;
+        private boolean skipped;
+        // The version code read before the session started, if the session left the installed app as it was
+        private String versionCode;
+
+        Installation(Platform platform, String udid, String appId, String appPath, String hash) {
+            this.platform = platform;
+            this.udid = udid;
+            this.appId = appId;
+            this.appPath = appPath;
+            this.hash = hash;
+        }
+
+        /**
+         * @return true if the session was started without installing the app
+         */
+        public boolean isSkipped() {
+            return skipped;
+        }
+
+        private String key() {
+            return udid + "/" + appId;
+        }
+    }
+
+    private static class FileHash {
+        private final long length;
+        private final long lastModified;
+        private final String hash;
+
+        FileHash(long length, long lastModified, String hash) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.joss.conductor.mobile;
+
+import com.joss.conductor.mobile.util.ArtifactUtil;
+
+import io.appium.java_client.MobileBy;
+
+import org.openqa.selenium.By;
+import org.pmw.tinylog.Logger;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites locators that XCUITest and UiAutomator2 can only resolve by serializing the whole view hierarchy into the
+ * equivalent native strategy of the platform.
+ * <p>
+ * Only XPaths that select elements anywhere in the hierarchy by their type and by attributes that the native strategy
+ * can express are rewritten, e.g. {@code //*[@name='Login']} becomes an accessibility id on iOS and
+ * {@code //android.widget.Button[@text='Login']} becomes a UiSelector on Android. Any other locator is used as it is.
+ * On iOS, {@link By#name(String)} is rewritten into an accessibility id as well.
+ * <p>
+ * Every rewrite is remembered along with how often it was used, and listed in
+ * {@code target/test-artifacts/locator-rewrites.jsonl} by {@link #write()}.
+ */
+public class LocatorOptimizer {
+
+    private static final LocatorOptimizer INSTANCE = new LocatorOptimizer();
+    private static final int MAX_CACHED_LOCATORS = 4096;
+
+    private static final String XPATH_PREFIX = "By.xpath: ";
+    private static final String NAME_PREFIX = "By.name: ";
+    private static final Pattern XPATH = Pattern.compile("^//(\\*|[\\w.]+)(?:\\[(.+)\\])?$");
+    private static final String QUOTED = "(?:'([^']*)'|\"([^\"]*)\")";
+    private static final Pattern CONDITION = Pattern.compile("\\s*(?:"
+            + "@([\\w-]+)\\s*=\\s*" + QUOTED
+            + "|(contains|starts-with)\\(\\s*@([\\w-]+)\\s*,\\s*" + QUOTED + "\\s*\\)"
+            + ")\\s*(and\\s+|$)");
+
+    private final Map<Key, Rewrite> rewrites = new ConcurrentHashMap<>();
+
+    LocatorOptimizer() {
+    }
+
+    public static LocatorOptimizer getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the fastest locator of the platform that finds the same elements as the given one, which is the given
+     * locator itself if it cannot be rewritten
+     */
+    public By optimize(By by, Platform platform) {
+        Key key = new Key(by, platform);
+        Rewrite rewrite = rewrites.get(key);
+        if (rewrite == null) {
+            if (rewrites.size() >= MAX_CACHED_LOCATORS) {
+                // Only generated locators get here; start over rather than track usage
+                rewrites.clear();
+            }
+            rewrite = rewrites.computeIfAbsent(key, k -> new Rewrite(by, rewrite(by, platform), platform));
+        }
+        if (rewrite.rewritten == rewrite.original) {
+            return by;
+        }
+        rewrite.uses.increment();
+        return rewrite.rewritten;
+    }
+
+    /**
+     * Writes the locators rewritten so far, most used first, and logs how many there are.
+     */
+    public void write() {
+        write(Paths.get(ArtifactUtil.WORKING_DIR, ArtifactUtil.DIR, "locator-rewrites.jsonl"));
+    }
+
+    synchronized void write(Path file) {
+        List<Rewrite> rewritten = new ArrayList<>();
+        for (Rewrite rewrite : rewrites.values()) {
+            if (rewrite.rewritten != rewrite.original) {
+                rewritten.add(rewrite);
+            }
+        }
+        if (rewritten.isEmpty()) {
+            return;
+        }
+        rewritten.sort((a, b) -> Long.compare(b.uses.sum(), a.uses.sum()));
+
+        ArtifactUtil.writeJsonLines(file, rewritten, LocatorOptimizer::toJson, false);
+        Logger.info("Rewrote {} locator(s) into native strategies, see {}", rewritten.size(), file);
+    }
+
+    static By rewrite(By by, Platform platform) {
+        String locator = by.toString();
+        if (platform == Platform.IOS && locator.startsWith(NAME_PREFIX)) {
+            return MobileBy.AccessibilityId(locator.substring(NAME_PREFIX.length()));
+        }
+        if (!locator.startsWith(XPATH_PREFIX)) {
+            return by;
+        }
+
+        Matcher xpath = XPATH.matcher(locator.substring(XPATH_PREFIX.length()).trim());
+        if (!xpath.matches()) {
+            return by;
+        }
+        String type = "*".equals(xpath.group(1)) ? null : xpath.group(1);
+        List<Condition> conditions = parseConditions(xpath.group(2));
+        if (conditions == null) {
+            return by;
+        }
+
+        By rewritten;
+        switch (platform) {
+            case ANDROID:
+                rewritten = rewriteAndroid(type, conditions);
+                break;
+            case IOS:
+                rewritten = rewriteIOS(type, conditions);
+                break;
+            default:
+                rewritten = null;
+        }
+        return rewritten != null ? rewritten : by;
+    }
+
+    /**
+     * @return the conditions of the predicate, or null if it contains anything other than conditions joined by and
+     */
+    private static List<Condition> parseConditions(String predicate) {
+        List<Condition> conditions = new ArrayList<>();
+        if (predicate == null) {
+            return conditions;
+        }
+        Matcher matcher = CONDITION.matcher(predicate);
+        int position = 0;
+        while (position < predicate.length()) {
+            if (!matcher.find(position) || matcher.start() != position) {
+                return null;
+            }
+            if (matcher.group(1) != null) {
+                conditions.add(new Condition(matcher.group(1), "=",
+                        matcher.group(2) != null ? matcher.group(2) : matcher.group(3)));
+            } else {
+                conditions.add(new Condition(matcher.group(5), matcher.group(4),
+                        matcher.group(6) != null ? matcher.group(6) : matcher.group(7)));
+            }
+            position = matcher.end();
+            if (matcher.group(8).isEmpty() && position < predicate.length()) {
+                return null;
+            }
+        }
+        return conditions;
+    }
+
+    private static By rewriteAndroid(String type, List<Condition> conditions) {
+        if (conditions.isEmpty()) {
+            return type != null ? By.className(type) : null;
+        }
+        if (type == null && conditions.size() == 1 && "=".equals(conditions.get(0).function)) {
+            Condition condition = conditions.get(0);
+            if ("resource-id".equals(condition.attribute)) {
+                return By.id(condition.value);
+            }
+            if ("content-desc".equals(condition.attribute)) {
+                return MobileBy.AccessibilityId(condition.value);
+            }
+        }
+
+        StringBuilder selector = new StringBuilder("new UiSelector()");
+        if (type != null) {
+            appendSelector(selector, "className", type);
+        }
+        for (Condition condition : conditions) {
+            String method;
+            switch (condition.attribute) {
+                case "text":
+                    method = "text";
+                    break;
+                case "content-desc":
+                    method = "description";
+                    break;
+                case "resource-id":
+                    method = "resourceId";
+                    break;
+                case "class":
+                    method = "className";
+                    break;
+                default:
+                    return null;
+            }
+            if ("contains".equals(condition.function)) {
+                if ("resourceId".equals(method) || "className".equals(method)) {
+                    return null;
+                }
+                method += "Contains";
+            } else if ("starts-with".equals(condition.function)) {
+                if ("resourceId".equals(method) || "className".equals(method)) {
+                    return null;
+                }
+                method += "StartsWith";
+            }
+            appendSelector(selector, method, condition.value);
+        }
+        return MobileBy.AndroidUIAutomator(selector.toString());
+    }
+
+    private static void appendSelector(StringBuilder selector, String method, String value) {
+        selector.append('.').append(method).append("(\"")
+                .append(value.replace("\\", "\\\\").replace("\"", "\\\""))
+                .append("\")");
+    }
+
+    private static By rewriteIOS(String type, List<Condition> conditions) {
+        if (conditions.isEmpty()) {
+            return type != null ? By.className(type) : null;
+        }
+        if (type == null && conditions.size() == 1 && "=".equals(conditions.get(0).function)
+                && "name".equals(conditions.get(0).attribute)) {
+            return MobileBy.AccessibilityId(conditions.get(0).value);
+        }
+
+        List<String> predicates = new ArrayList<>();
+        if (type != null) {
+            predicates.add("type == " + quotePredicate(type));
+        }
+        for (Condition condition : conditions) {
+            switch (condition.attribute) {
+                case "name":
+                case "label":
+                case "value":
+                case "type":
+                    break;
+                default:
+                    return null;
+            }
+            String operator;
+            switch (condition.function) {
+                case "contains":
+                    operator = " CONTAINS ";
+                    break;
+                case "starts-with":
+                    operator = " BEGINSWITH ";
+                    break;
+                default:
+                    operator = " == ";
+            }
+            predicates.add(condition.attribute + operator + quotePredicate(condition.value));
+        }
+        return MobileBy.iOSNsPredicateString(String.join(" AND ", predicates));
+    }
+
+    private static String quotePredicate(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
+    static Map<String, ?> toJson(Rewrite rewrite) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("platform", rewrite.platform.name());
+        line.put("original", rewrite.original.toString());
+        line.put("rewritten", rewrite.rewritten.toString());
+        line.put("uses", rewrite.uses.sum());
+        return line;
+    }
+
+    static final class Rewrite {
+        private final By original;
+        private final By rewritten;
+        private final Platform platform;
+        private final LongAdder uses = new LongAdder();
+
+        Rewrite(By original, By rewritten, Platform platform) {
+            this.original = original;
+            this.rewritten = rewritten;
+            this.platform = platform;
+        }
+    }
+
+    private static final class Condition {
+        private final String attribute;
+        private final String function;
+        private final String value;
+
+        Condition(String attribute, String function, String value) {
+            this.attribute = attribute;
+            this.function = function;
+            this.value = value;
+        }
+    }
+
+    private static final class Key {
+        private final By by;
+        private final Platform platform;
+
+        Key(By by, Platform platform) {
+            this.by = by;
+            this.platform = platform;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return platform == other.platform && by.equals(other.by);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * by.hashCode() + Objects.hashCode(platform);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.joss.conductor.mobile;
+
+import com.joss.conductor.mobile.util.ArtifactUtil;
+
+import org.openqa.selenium.By;
+import org.pmw.tinylog.Logger;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the element lookups of {@link Locomotive} per {@link By}, to find out which locators the suite spends its time
+ * on.
+ * <p>
+ * For every locator the amount of lookups, the failed ones, the median, 95th percentile and maximum duration are
+ * kept, along with the test methods and the page object fields that use the locator. Percentiles are computed from a
+ * uniform sample of at most {@value #MAX_SAMPLES} lookups per locator, so memory use does not grow with the length of
+ * the suite. At most {@value #MAX_KEYS} locators are profiled, so that suites generating locators, e.g. through
+ * {@link com.joss.conductor.mobile.util.PageUtil#buildBy} or dynamic XPaths, cannot grow the profile without bounds.
+ * {@link #write()} ranks the locators by the total time spent finding them.
+ */
+public class LocatorProfiler {
+
+    private static final LocatorProfiler INSTANCE = new LocatorProfiler();
+    private static final int MAX_SAMPLES = 1024;
+    private static final int INITIAL_SAMPLES = 16;
+    private static final int MAX_KEYS = 4096;
+    private static final int MAX_NAMES = 20;
+    private static final int LOGGED_LOCATORS = 10;
+
+    private final Map<By, Stats> stats = new ConcurrentHashMap<>();
+    private final Map<By, Set<String>> fields = new ConcurrentHashMap<>();
+
+    LocatorProfiler() {
+    }
+
+    public static LocatorProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records a lookup of the locator.
+     *
+     * @param by      the locator as written in the test or page object
+     * @param sent    the locator sent to Appium, which differs from {@code by} when locators are optimized
+     * @param nanos   how long the lookup took
+     * @param failed  true if the lookup threw, e.g. because no element was found
+     * @param test    the name of the test method doing the lookup, may be null
+     */
+    public void record(By by, By sent, long nanos, boolean failed, String test) {
+        Stats locator = stats.get(by);
+        if (locator == null && stats.size() < MAX_KEYS) {
+            locator = stats.computeIfAbsent(by, key -> new Stats(strategy(sent)));
+        }
+        if (locator != null) {
+            locator.add(nanos, failed, test);
+        }
+    }
+
+    /**
+     * Remembers that the page object field is bound to the locator, so the report can tell where a locator comes from.
+     */
+    public void registerField(By by, String field) {
+        Set<String> names = fields.get(by);
+        if (names == null && fields.size() < MAX_KEYS) {
+            names = fields.computeIfAbsent(by, key -> Collections.synchronizedSet(new TreeSet<>()));
+        }
+        if (names != null) {
+            addName(names, field);
+        }
+    }
+
+    /**
+     * Writes the lookups recorded so far to {@code target/test-artifacts/locator-latency.jsonl}, one locator per line
+     * starting with the one that took the most time in total, and logs the most expensive ones.
+     */
+    public void write() {
+        write(Paths.get(ArtifactUtil.WORKING_DIR, ArtifactUtil.DIR, "locator-latency.jsonl"));
+    }
+
+    synchronized void write(Path file) {
+        List<Map.Entry<By, Stats>> ranked = new ArrayList<>(stats.entrySet());
+        if (ranked.isEmpty()) {
+            return;
+        }
+        ranked.sort((a, b) -> Long.compare(b.getValue().totalNanos(), a.getValue().totalNanos()));
+
+        ArtifactUtil.writeJsonLines(file, ranked, entry -> toJson(entry.getKey(), entry.getValue()), false);
+        String summary = ArtifactUtil.summarize(ranked, LOGGED_LOCATORS, entry -> String.format(
+                "%8d ms total, %5d lookups, p95 %6d ms  %s", millis(entry.getValue().totalNanos()),
+                entry.getValue().count(), millis(entry.getValue().percentile(95)), entry.getKey()));
+        Logger.info("Slowest of {} locator(s), see {}:{}", ranked.size(), file, summary);
+    }
+
+    Map<String, ?> toJson(By by, Stats locator) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("locator", by.toString());
+        line.put("strategy", locator.strategy);
+        line.put("count", locator.count());
+        line.put("failures", locator.failures());
+        line.put("totalMillis", millis(locator.totalNanos()));
+        line.put("p50Millis", millis(locator.percentile(50)));
+        line.put("p95Millis", millis(locator.percentile(95)));
+        line.put("maxMillis", millis(locator.maxNanos()));
+        line.put("tests", locator.tests());
+        Set<String> fieldNames = fields.get(by);
+        line.put("fields", fieldNames == null ? Collections.emptyList() : copy(fieldNames));
+        return line;
+    }
+
+    Stats getStats(By by) {
+        return stats.get(by);
+    }
+
+    /**
+     * @return the strategy of the locator, like {@code xpath} or {@code id}
+     */
+    static String strategy(By by) {
+        String locator = by.toString();
+        int colon = locator.indexOf(':');
+        String strategy = colon < 0 ? locator : locator.substring(0, colon);
+        return strategy.startsWith("By.") ? strategy.substring(3) : strategy;
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static void addName(Set<String> names, String name) {
+        if (name != null && names.size() < MAX_NAMES) {
+            names.add(name);
+        }
+    }
+
+    private static List<String> copy(Set<String> names) {
+        synchronized (names) {
+            return new ArrayList<>(names);
+        }
+    }
+
+    static final class Stats {
+        private final String strategy;
+        // Grown as lookups come in, most locators are looked up far less than MAX_SAMPLES times
+        private long[] samples = new long[INITIAL_SAMPLES];
+        private final Set<String> tests = new TreeSet<>();
+        private long count;
+        private long failures;
+        private long totalNanos;
+        private long maxNanos;
+
+        Stats(String strategy) {
+            this.strategy = strategy;
+        }
+
+        synchronized void add(long nanos, boolean failed, String test) {
+            if (count < MAX_SAMPLES) {
+                if (count == samples.length) {
+                    samples = Arrays.copyOf(samples, Math.min(MAX_SAMPLES, samples.length * 2));
+                }
+                samples[(int) count] = nanos;
+            } else {
+                // Reservoir sampling keeps every lookup equally likely to be among the samples
+                long slot = ThreadLocalRandom.current().nextLong(count + 1);
+                if (slot < MAX_SAMPLES) {
+                    samples[(int) slot] = nanos;
+                }
+            }
+            count++;
+            if (failed) {
+                failures++;
+            }
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            addName(tests, test);
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        synchronized long failures() {
+            return failures;
+        }
+
+        synchronized long totalNanos() {
+            return totalNanos;
+        }
+
+        synchronized long maxNanos() {
+            return maxNanos;
+        }
+
+        synchronized List<String> tests() {
+            return new ArrayList<>(tests);
+        }
+
+        /**
+         * @return the duration that the given percentage of the sampled lookups did not exceed
+         */
+        synchronized long percentile(int percent) {
+            int size = (int) Math.min(count, MAX_SAMPLES);
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percent / 100.0 * size) - 1;
+            return sorted[Math.max(0, Math.min(size - 1, index))];
+        }
+    }
+}
@@ -8,15 +8,12 @@ import com.saucelabs.testng.SauceOnDemandAuthenticationProvider;
 
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileElement;
-import io.appium.java_client.TouchAction;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.android.AuthenticatesByFinger;
 import io.appium.java_client.ios.IOSDriver;
 import io.appium.java_client.ios.PerformsTouchID;
 import io.appium.java_client.remote.AndroidMobileCapabilityType;
 import io.appium.java_client.remote.MobileCapabilityType;
-import io.appium.java_client.service.local.AppiumServiceBuilder;
-import io.appium.java_client.service.local.flags.GeneralServerFlag;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Assert;
@@ -28,23 +25,28 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.pmw.tinylog.Logger;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
+import org.w3c.dom.Element;
 
 import java.lang.reflect.Method;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static io.appium.java_client.touch.WaitOptions.waitOptions;
-import static io.appium.java_client.touch.offset.ElementOption.element;
-import static io.appium.java_client.touch.offset.PointOption.point;
 import static java.time.Duration.ofMillis;
 import static org.openqa.selenium.support.ui.ExpectedConditions.*;
 
@@ -70,11 +72,32 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     private ThreadLocal<String> sessionId = new ThreadLocal<>();
 
     /**
-     * ThreadLocal variable which contains the Shutdown Hook instance for this Thread's Driver.
-     * <p>
-     * Registered just before Device creation, de-registered after 'quit' is called.
+     * ThreadLocal variable which contains the device this Thread's Driver runs on, when tests are spread over devices.
+     */
+    private ThreadLocal<DeviceAllocator.Device> device = new ThreadLocal<>();
+
+    /**
+     * ThreadLocal variable which contains the timings of the last session start on this Thread.
+     */
+    private ThreadLocal<SessionStartupTimings> startupTimings = new ThreadLocal<>();
+
+    /**
+     * ThreadLocal variable which contains the elements found on the current screen, when the element cache is enabled.
+     */
+    private ThreadLocal<ElementCache> elementCache = ThreadLocal.withInitial(ElementCache::new);
+
+    /**
+     * ThreadLocal variable which contains the page source of the current screen, when page source snapshots are enabled.
      */
-    private ThreadLocal<Thread> shutdownHook = new ThreadLocal<>();
+    private ThreadLocal<PageSourceSnapshot> pageSourceSnapshot = ThreadLocal.withInitial(PageSourceSnapshot::new);
+
+    /**
+     * ThreadLocal variable which contains the window sizes of the session of this Thread.
+     */
+    private ThreadLocal<ScreenGeometry> screenGeometry = ThreadLocal.withInitial(ScreenGeometry::new);
+
+    private static final List<SessionStartupListener> startupListeners =
+            new CopyOnWriteArrayList<>(Collections.singletonList(SessionStartupReport.getInstance()));
 
     public ConductorConfig configuration;
     private Map<String, String> vars = new HashMap<>();
@@ -98,57 +121,12 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public Locomotive setAppiumDriver(AppiumDriver d) {
-        registerShutdownHook();
+        // Make sure the session is quit when the JVM exits, even if this thread never calls quit
+        SessionRegistry.getInstance().register(d);
         driver.set(d);
         return this;
     }
 
-    /**
-     * Creates the shutdownHook, or returns an existing copy
-     */
-    private Thread getShutdownHook() {
-        if (shutdownHook.get() == null) {
-            shutdownHook.set(new Thread(() -> {
-                try {
-                    if (getAppiumDriver() != null) {
-                        getAppiumDriver().quit();
-                    }
-                } catch (org.openqa.selenium.NoSuchSessionException ignored) {
-                } // Don't care if session already closed
-            }));
-        }
-        return shutdownHook.get();
-    }
-
-    /**
-     * Registers the shutdownHook with the runtime.
-     * <p>
-     * Ignoring exceptions on registration; They mean the VM is already shutting down and it's too late.
-     */
-    private void registerShutdownHook() {
-        // Register a hook to always close this session.  Only works/needed once session is created.
-        try {
-            Runtime.getRuntime().addShutdownHook(getShutdownHook());
-        } catch (IllegalStateException ignored) {
-            // Thrown if a hook is added while shutting down; We don't care
-        }
-    }
-
-    /**
-     * De-registers the shutdownHook. This allows the GC to remove the thread and avoids double-quitting.
-     * <p>
-     * Silently swallows exceptions if the VM is already shutting down; it's too late.
-     */
-    private void deregisterShutdownHook() {
-        if (shutdownHook.get() != null) {
-            try {
-                Runtime.getRuntime().removeShutdownHook(getShutdownHook());
-            } catch (IllegalStateException ignored) {
-                // VM already shutting down; Irrelevant
-            }
-        }
-    }
-
     public Locomotive setConfiguration(ConductorConfig configuration) {
         this.configuration = configuration;
         return this;
@@ -170,75 +148,258 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
 
     @AfterMethod(alwaysRun = true)
     public void quit() {
-        if (getAppiumDriver() != null) {
-            try {
-                getAppiumDriver().quit();
-            } catch (WebDriverException exception) {
-                Logger.error(exception, "WebDriverException occurred during quit method");
+        try {
+            if (getAppiumDriver() != null) {
+                try {
+                    if (configuration.getSessionPoolSize() > 0) {
+                        // Hand the session back so the next test can reuse it. The session stays alive, so this
+                        // thread must forget about it, and what it read from its screen, before another test leases
+                        // it, even if handing it back fails.
+                        invalidateElementCache();
+                        try {
+                            SessionPool.getInstance().release(getAppiumDriver(), configuration);
+                        } finally {
+                            driver.remove();
+                        }
+                    } else {
+                        SessionRegistry.getInstance().quit(getAppiumDriver());
+                    }
+                } catch (WebDriverException exception) {
+                    Logger.error(exception, "WebDriverException occurred during quit method");
+                }
             }
+        } finally {
+            releaseDevice();
         }
-        deregisterShutdownHook();
     }
 
     private void initialize() {
+        SessionStartupTimings timings = new SessionStartupTimings(testMethodName);
+        startupTimings.set(timings);
+        long configStart = System.nanoTime();
         if (this.configuration == null) {
             this.configuration = new ConductorConfig();
         }
+        timings.add(SessionStartupTimings.Phase.CONFIG_LOAD, millisSince(configStart));
 
-        startAppiumSession(1);
+        acquireDevice();
+        try {
+            startAppiumSession();
+        } catch (RuntimeException exception) {
+            releaseDevice();
+            throw exception;
+        }
 
         // Set session ID after driver has been initialized
         String id = getAppiumDriver().getSessionId().toString();
         sessionId.set(id);
+        ImplicitWaitManager.getInstance().apply(getAppiumDriver(),
+                TimeUnit.SECONDS.toMillis(configuration.getImplicitWaitTime()));
     }
 
-    void startAppiumSession(int startCounter) {
+    void startAppiumSession() {
         if ((getAppiumDriver() != null) && (getAppiumDriver().getSessionId() != null)) {
-            // session is already active -> terminal condition
+            // session is already active
             return;
         }
 
-        if (startCounter > configuration.getStartSessionRetries()) {
-            // maximum amount of retries reached
-            throw new WebDriverException(
-                    "Could not start Appium Session with capabilities: " + getCapabilities(configuration).toString());
+        SessionStartupTimings timings = startupTimings.get();
+        if (timings == null || timings.isFinished()) {
+            timings = new SessionStartupTimings(testMethodName);
+            startupTimings.set(timings);
+        }
+
+        SessionRetryPolicy retryPolicy = new SessionRetryPolicy(configuration);
+        SessionRegistry.getInstance().setReapTimeout(configuration.getSessionReapTimeout(), TimeUnit.SECONDS);
+        long capabilitiesStart = System.nanoTime();
+        DesiredCapabilities capabilities = onCapabilitiesCreated(getCapabilities(configuration));
+        InstallStateTracker.Installation installation = configuration.isSkipReinstall()
+                ? InstallStateTracker.getInstance().prepare(configuration, capabilities)
+                : null;
+        timings.add(SessionStartupTimings.Phase.CAPABILITIES, millisSince(capabilitiesStart));
+        timings.setUdid((String) capabilities.getCapability(MobileCapabilityType.UDID));
+
+        WebDriverException failure;
+        long start = System.nanoTime();
+        int attempt = 1;
+        while (true) {
+            long attemptStart = System.nanoTime();
+            long serverMillis = timings.getPhaseMillis(SessionStartupTimings.Phase.LOCAL_SERVER);
+            try {
+                setAppiumDriver(obtainAppiumDriver(capabilities));
+                Logger.info("Started Appium session on attempt {} in {} ms", attempt, millisSince(attemptStart));
+                timings.add(SessionStartupTimings.Phase.NEW_SESSION, millisSince(attemptStart)
+                        - (timings.getPhaseMillis(SessionStartupTimings.Phase.LOCAL_SERVER) - serverMillis));
+                if (installation != null) {
+                    InstallStateTracker.getInstance().confirm(getAppiumDriver(), installation);
+                }
+                if (configuration.isSessionStartupProbe()) {
+                    probeFirstCommand(timings);
+                }
+                finishStartup(timings, attempt, true);
+                return;
+            } catch (WebDriverException exception) {
+                failure = exception;
+                Logger.error(exception, "Attempt {} to start Appium session failed after {} ms",
+                        attempt, millisSince(attemptStart));
+                timings.add(SessionStartupTimings.Phase.RETRIES, millisSince(attemptStart)
+                        - (timings.getPhaseMillis(SessionStartupTimings.Phase.LOCAL_SERVER) - serverMillis));
+            }
+
+            long delay = retryPolicy.nextDelay(attempt, failure, millisSince(start));
+            if (delay == SessionRetryPolicy.GIVE_UP) {
+                break;
+            }
+            Logger.info("Retrying to start Appium session in {} ms", delay);
+            long sleepStart = System.nanoTime();
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                timings.add(SessionStartupTimings.Phase.RETRIES, millisSince(sleepStart));
+            }
+            attempt++;
         }
 
-        // start a new session
+        finishStartup(timings, attempt, false);
+        throw new WebDriverException(String.format("Could not start Appium Session after %d attempt(s) in %d ms with capabilities: %s",
+                attempt, millisSince(start), capabilities), failure);
+    }
+
+    /**
+     * Times the round trip of a cheap command, which tells how long the new session takes to actually respond.
+     */
+    private void probeFirstCommand(SessionStartupTimings timings) {
+        long probeStart = System.nanoTime();
         try {
-            URL hub = configuration.getHub();
-            DesiredCapabilities capabilities = onCapabilitiesCreated(getCapabilities(configuration));
+            getAppiumDriver().getContext();
+        } catch (WebDriverException exception) {
+            Logger.warn(exception, "First command of the new Appium session failed");
+        }
+        timings.add(SessionStartupTimings.Phase.FIRST_COMMAND, millisSince(probeStart));
+    }
 
-            AppiumServiceBuilder builder = new AppiumServiceBuilder()
-                    .withArgument(GeneralServerFlag.LOG_LEVEL, "warn");
+    private void finishStartup(SessionStartupTimings timings, int attempts, boolean succeeded) {
+        timings.finish(attempts, succeeded);
+        Logger.debug("Appium session startup of {} took {} ms: {}", timings.getTestName(), timings.getTotalMillis(),
+                timings.getPhases());
+        for (SessionStartupListener listener : startupListeners) {
+            try {
+                listener.onSessionStartup(timings);
+            } catch (RuntimeException exception) {
+                Logger.warn(exception, "Session startup listener {} failed", listener);
+            }
+        }
+    }
 
-            switch (configuration.getPlatformName()) {
-                case ANDROID:
-                    setAppiumDriver(configuration.isLocal()
-                            ? new AndroidDriver(builder, capabilities)
-                            : new AndroidDriver(hub, capabilities));
-                    break;
-                case IOS:
-                    setAppiumDriver(configuration.isLocal()
-                            ? new IOSDriver(builder, capabilities)
-                            : new IOSDriver(hub, capabilities));
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unknown platform: " + configuration.getPlatformName());
+    /**
+     * Registers a listener that is notified of the startup timings of every session started by any Locomotive.
+     */
+    public static void addSessionStartupListener(SessionStartupListener listener) {
+        startupListeners.add(listener);
+    }
+
+    public static void removeSessionStartupListener(SessionStartupListener listener) {
+        startupListeners.remove(listener);
+    }
+
+    /**
+     * @return the timings of the last session started on this thread, or null if no session was started
+     */
+    public SessionStartupTimings getSessionStartupTimings() {
+        return startupTimings.get();
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private AppiumDriver obtainAppiumDriver(DesiredCapabilities capabilities) {
+        if (configuration.getSessionPoolSize() > 0) {
+            // A leased session keeps its session id, so elements and page sources read by an earlier test would
+            // still look current
+            invalidateElementCache();
+            return SessionPool.getInstance().lease(configuration, capabilities, this::createAppiumDriver);
+        }
+        if (configuration.getSessionPrefetch() > 0 && device.get() == null) {
+            // The device of this thread is in use until the test ends, and other devices are not free to take, so
+            // sessions on allocated devices are never prefetched
+            return SessionPrefetcher.getInstance().take(configuration, capabilities, this::createAppiumDriver);
+        }
+        return createAppiumDriver(capabilities);
+    }
+
+    private AppiumDriver createAppiumDriver(DesiredCapabilities capabilities) {
+        // Local sessions share the servers of this JVM instead of booting a server per session
+        URL hub;
+        if (configuration.isLocal()) {
+            long serverStart = System.nanoTime();
+            hub = AppiumServerRegistry.getInstance().getServerUrl(configuration);
+            // Only sessions started on the test's own thread are being timed, not the ones warmed up in the background
+            SessionStartupTimings timings = startupTimings.get();
+            if (timings != null && !timings.isFinished()) {
+                timings.add(SessionStartupTimings.Phase.LOCAL_SERVER, millisSince(serverStart));
             }
-        } catch (WebDriverException exception) {
-            Logger.error(exception, "Received an exception while trying to start Appium session");
+        } else {
+            hub = configuration.getHub();
         }
 
-        // recursive call to retry if necessary
-        startAppiumSession(startCounter + 1);
+        AppiumDriver created;
+        switch (configuration.getPlatformName()) {
+            case ANDROID:
+                created = new AndroidDriver(hub, capabilities);
+                break;
+            case IOS:
+                created = new IOSDriver(hub, capabilities);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown platform: " + configuration.getPlatformName());
+        }
+        // Sessions started for the pool or ahead of time are tracked as well, they are not owned by a test yet
+        SessionRegistry.getInstance().register(created);
+        return created;
     }
 
     protected DesiredCapabilities onCapabilitiesCreated(DesiredCapabilities desiredCapabilities) {
         return desiredCapabilities;
     }
 
+    private void acquireDevice() {
+        DeviceAllocator allocator = DeviceAllocator.forConfig(configuration);
+        if (allocator != null && device.get() == null) {
+            device.set(allocator.acquire(configuration.getDeviceAllocationTimeout(), TimeUnit.SECONDS));
+            Logger.debug("Running {} on device {}", testMethodName, device.get());
+        }
+    }
+
+    private void releaseDevice() {
+        DeviceAllocator allocator = DeviceAllocator.forConfig(configuration);
+        if (allocator != null && device.get() != null) {
+            allocator.release(device.get());
+            device.remove();
+        }
+    }
+
+    /**
+     * The capabilities shared by all threads are built once per configuration version and Locomotive class, as
+     * subclasses may override {@link #buildCapabilities(ConductorConfig)}; this thread works on a copy.
+     */
     private DesiredCapabilities getCapabilities(ConductorConfig configuration) {
+        DesiredCapabilities capabilities = configuration
+                .getCapabilitySnapshot(getClass(), this::buildSharedCapabilities)
+                .toDesiredCapabilities();
+
+        // Run on the device allocated to this thread, with ports no other session uses
+        if (device.get() != null) {
+            device.get().applyTo(capabilities, configuration.getPlatformName());
+        }
+
+        return capabilities;
+    }
+
+    private DesiredCapabilities buildSharedCapabilities(ConductorConfig configuration) {
         DesiredCapabilities capabilities;
         switch (configuration.getPlatformName()) {
             case ANDROID:
@@ -299,17 +460,18 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public Locomotive click(By by) {
-        TouchAction touchAction = new TouchAction(getAppiumDriver());
-        touchAction.tap(element(getAppiumDriver().findElement(by)));
-        touchAction.perform();
+        withElement(by, webElement -> {
+            GestureEngine.getInstance().tap(getAppiumDriver(), webElement);
+            return this;
+        });
+        invalidateElementCache();
         return this;
     }
 
     public Locomotive click(MobileElement mobileElement) {
         try {
-            TouchAction touchAction = new TouchAction(getAppiumDriver());
-            touchAction.tap(element(mobileElement));
-            touchAction.perform();
+            GestureEngine.getInstance().tap(getAppiumDriver(), mobileElement);
+            invalidateElementCache();
             return this;
         } catch (NoSuchElementException noSuchElementException) {
             throw new NoSuchElementException("Error: Unable to find element: " + mobileElement.toString() + " in order to click the element", noSuchElementException);
@@ -318,9 +480,8 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
 
     public Locomotive click(WebElement webElement) {
         try {
-            TouchAction touchAction = new TouchAction(getAppiumDriver());
-            touchAction.tap(element(webElement));
-            touchAction.perform();
+            GestureEngine.getInstance().tap(getAppiumDriver(), webElement);
+            invalidateElementCache();
             return this;
         } catch (NoSuchElementException noSuchElementException) {
             throw new NoSuchElementException("Error: Unable to find element: " + webElement.toString() + " in order to click the element", noSuchElementException);
@@ -332,12 +493,13 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public Locomotive setText(By by, String text) {
-        return setText(getAppiumDriver().findElement(by), text);
+        return withElement(by, webElement -> setText(webElement, text));
     }
 
     public Locomotive setText(MobileElement mobileElement, String text) {
         try {
             mobileElement.setValue(text);
+            invalidateElementCache();
             return this;
         } catch (NoSuchElementException noSuchElementException) {
             throw new NoSuchElementException("Error: Unable to find element: " + mobileElement.toString() + " in order to set the text of the element", noSuchElementException);
@@ -347,6 +509,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     public Locomotive setText(WebElement webElement, String text) {
         try {
             webElement.sendKeys(text);
+            invalidateElementCache();
             return this;
         } catch (NoSuchElementException noSuchElementException) {
             throw new NoSuchElementException("Error: Unable to find element: " + webElement.toString() + " in order to set the text of the element", noSuchElementException);
@@ -358,7 +521,15 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public boolean isPresent(By by) {
-        return getAppiumDriver().findElements(by).size() > 0;
+        UiHierarchy snapshot = getPageSourceSnapshot();
+        if (snapshot != null) {
+            // The page source is searched with the locator as written, optimized locators only suit the session
+            List<Element> elements = snapshot.find(by);
+            if (elements != null) {
+                return !elements.isEmpty();
+            }
+        }
+        return withoutImplicitWait(() -> findElements(by).size() > 0);
     }
 
     public boolean isPresent(MobileElement mobileElement) {
@@ -382,8 +553,12 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public boolean isPresentWait(By by, long timeOutInSeconds) {
+        return isPresentWait(by, timeOutInSeconds, getPollingPolicy(200));
+    }
+
+    public boolean isPresentWait(By by, long timeOutInSeconds, PollingPolicy policy) {
         try {
-            waitForCondition(elementToBeClickable(by), timeOutInSeconds, 200);
+            waitFor(elementToBeClickable(locate(by)), timeOutInSeconds, policy, by.toString());
             return true;
         } catch (TimeoutException e) {
             return false;
@@ -392,7 +567,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
 
     public boolean isPresentWait(MobileElement mobileElement, long timeOutInSeconds) {
         try {
-            waitForCondition(elementToBeClickable(mobileElement), timeOutInSeconds, 200);
+            waitForCondition(elementToBeClickable(mobileElement), timeOutInSeconds, getPollingPolicy(200));
             return true;
         } catch (TimeoutException e) {
             return false;
@@ -404,7 +579,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public String getText(By by) {
-        return getText(getAppiumDriver().findElement(by));
+        return withSnapshotElement(by, null, ElementSnapshot::getText, this::getText);
     }
 
     public String getText(WebElement webElement) {
@@ -428,7 +603,8 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public String getAttribute(By by, String attribute) {
-        return getAppiumDriver().findElement(by).getAttribute(attribute);
+        return withSnapshotElement(by, attribute, element -> element.getAttribute(attribute),
+                webElement -> webElement.getAttribute(attribute));
     }
 
     public String getAttribute(MobileElement mobileElement, String attribute) {
@@ -461,7 +637,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public Locomotive swipe(SwipeElementDirection direction, By by, float percentage) {
-        return swipe(direction, (MobileElement) getAppiumDriver().findElement(by), percentage);
+        return withElement(by, webElement -> swipe(direction, (MobileElement) webElement, percentage));
     }
 
     public Locomotive swipe(SwipeElementDirection direction, MobileElement mobileElement, float percentage) {
@@ -477,7 +653,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public Locomotive swipe(SwipeElementDirection direction, By by) {
-        return swipe(direction, (MobileElement) getAppiumDriver().findElement(by));
+        return withElement(by, webElement -> swipe(direction, (MobileElement) webElement));
     }
 
     public Locomotive swipe(SwipeElementDirection direction, MobileElement mobileElement) {
@@ -493,7 +669,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public Locomotive swipe(SwipeElementDirection direction, By by, int swipeDurationInMillis) {
-        return swipe(direction, (MobileElement) getAppiumDriver().findElement(by), swipeDurationInMillis);
+        return withElement(by, webElement -> swipe(direction, (MobileElement) webElement, swipeDurationInMillis));
     }
 
 
@@ -546,7 +722,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public Locomotive swipeLong(SwipeElementDirection direction, By by) {
-        return swipe(direction, (MobileElement) getAppiumDriver().findElement(by));
+        return withElement(by, webElement -> swipe(direction, (MobileElement) webElement));
     }
 
     public Locomotive swipeLong(SwipeElementDirection direction, MobileElement mobileElement) {
@@ -562,7 +738,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public Locomotive swipeLong(SwipeElementDirection direction, By by, int swipeDurationInMillis) {
-        return swipe(direction, (MobileElement) getAppiumDriver().findElement(by), swipeDurationInMillis);
+        return withElement(by, webElement -> swipe(direction, (MobileElement) webElement, swipeDurationInMillis));
     }
 
     public Locomotive swipeLong(SwipeElementDirection direction, MobileElement element, int swipeDurationInMillis) {
@@ -720,7 +896,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
      * More information on Android here: https://developer.android.com/preview/features/gesturalnav
      */
     public Locomotive swipeSystemBack() {
-        Dimension screen = getAppiumDriver().manage().window().getSize();
+        Dimension screen = getWindowSize();
         Point start = new Point(screen.getWidth() - 2, getYCenter());
         Point end = new Point(2, getYCenter());
 
@@ -751,7 +927,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public Locomotive longPressSwipe(SwipeElementDirection direction, By by) {
-        return longPressSwipe(direction, (MobileElement) getAppiumDriver().findElement(by));
+        return withElement(by, webElement -> longPressSwipe(direction, (MobileElement) webElement));
     }
 
     public Locomotive longPressSwipe(SwipeElementDirection direction, MobileElement mobileElement) {
@@ -767,7 +943,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public Locomotive longPressSwipe(SwipeElementDirection direction, By by, int swipeDurationInMillis) {
-        return longPressSwipe(direction, (MobileElement) getAppiumDriver().findElement(by), swipeDurationInMillis);
+        return withElement(by, webElement -> longPressSwipe(direction, (MobileElement) webElement, swipeDurationInMillis));
     }
 
     public Locomotive longPressSwipe(SwipeElementDirection direction, MobileElement mobileElement, int swipeDurationInMillis) {
@@ -817,7 +993,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public Locomotive longPressSwipeLong(SwipeElementDirection direction, By by) {
-        return longPressSwipe(direction, (MobileElement) getAppiumDriver().findElement(by));
+        return withElement(by, webElement -> longPressSwipe(direction, (MobileElement) webElement));
     }
 
     public Locomotive longPressSwipeLong(SwipeElementDirection direction, MobileElement mobileElement) {
@@ -837,7 +1013,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public Locomotive longPressSwipeLong(SwipeElementDirection direction, By by, int swipeDurationInMillis) {
-        return longPressSwipe(direction, (MobileElement) getAppiumDriver().findElement(by), swipeDurationInMillis);
+        return withElement(by, webElement -> longPressSwipe(direction, (MobileElement) webElement, swipeDurationInMillis));
     }
 
     public Locomotive longPressSwipeLong(SwipeElementDirection direction, MobileElement mobileElement, int swipeDurationInMillis) {
@@ -879,16 +1055,150 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
         } catch (WebDriverException e) {
             Logger.error(e, "WARN:" + e.getMessage());
         }
+        invalidateElementCache();
+        return this;
+    }
+
+    public Locomotive back() {
+        getAppiumDriver().navigate().back();
+        invalidateElementCache();
+        return this;
+    }
+
+    public Locomotive rotate(ScreenOrientation orientation) {
+        getAppiumDriver().rotate(orientation);
+        screenGeometry.get().rotated(getAppiumDriver(), orientation);
+        invalidateElementCache();
+        return this;
+    }
+
+    /**
+     * @return the size of the window, fetched once per session and orientation
+     */
+    private Dimension getWindowSize() {
+        return screenGeometry.get().getWindowSize(getAppiumDriver());
+    }
+
+    /**
+     * Forgets the elements and the page source snapshot of the current screen. Actions of this class that can change
+     * the screen call this already; call it after changing the screen through the driver directly.
+     */
+    public Locomotive invalidateElementCache() {
+        elementCache.get().invalidate();
+        pageSourceSnapshot.get().invalidate();
         return this;
     }
 
+    /**
+     * @return the page source of the current screen, taken from the snapshot when page source snapshots are enabled
+     */
+    private String getPageSource() {
+        UiHierarchy snapshot = getPageSourceSnapshot();
+        return snapshot != null ? snapshot.getSource() : getAppiumDriver().getPageSource();
+    }
+
+    /**
+     * @return the hierarchy of the current screen, or null if page source snapshots are disabled or unavailable
+     */
+    private UiHierarchy getPageSourceSnapshot() {
+        if (configuration == null || !configuration.isPageSourceSnapshot()) {
+            return null;
+        }
+        return pageSourceSnapshot.get().get(getAppiumDriver(), configuration.getPlatformName(),
+                configuration.getPageSourceSnapshotMaxAge());
+    }
+
+    /**
+     * Reads the element located by the {@link By} from the page source snapshot when there is one that has the
+     * element, and the attribute if one is given. Otherwise applies the action to the element found in the session.
+     *
+     * @param attribute      the attribute the read needs, or null if it only needs the text or bounds
+     * @param snapshotAction reads the element from the snapshot
+     * @param action         reads the element from the session
+     */
+    private <T> T withSnapshotElement(By by, String attribute, Function<ElementSnapshot, T> snapshotAction,
+                                      Function<WebElement, T> action) {
+        UiHierarchy snapshot = getPageSourceSnapshot();
+        if (snapshot != null) {
+            List<Element> elements = snapshot.find(by);
+            if (elements != null && !elements.isEmpty()) {
+                ElementSnapshot element = attribute == null
+                        ? snapshot.snapshotForAppium(elements.get(0))
+                        : snapshot.snapshotForAppium(elements.get(0), attribute);
+                if (attribute == null || element.getAttributes().containsKey(attribute)) {
+                    return snapshotAction.apply(element);
+                }
+            }
+        }
+        // Missing elements are left to the session, which waits for them to appear
+        return withElement(by, action);
+    }
+
+    /**
+     * Applies the action to the element located by the {@link By}, reusing the element found by a previous action on
+     * the same screen when the element cache is enabled.
+     */
+    private <T> T withElement(By by, Function<WebElement, T> action) {
+        if (configuration == null || !configuration.isElementCache()) {
+            return action.apply(findElement(by));
+        }
+        return elementCache.get().withElement(getAppiumDriver(), locate(by), locator -> findElement(by), action);
+    }
+
+    /**
+     * Finds the element with the optimized locator of the {@link By}, timing the lookup when locators are profiled.
+     */
+    private WebElement findElement(By by) {
+        By locator = locate(by);
+        if (configuration == null || !configuration.isLocatorProfiling()) {
+            return getAppiumDriver().findElement(locator);
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            WebElement element = getAppiumDriver().findElement(locator);
+            failed = false;
+            return element;
+        } finally {
+            LocatorProfiler.getInstance().record(by, locator, System.nanoTime() - start, failed, testMethodName);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<MobileElement> findElements(By by) {
+        By locator = locate(by);
+        if (configuration == null || !configuration.isLocatorProfiling()) {
+            return getAppiumDriver().findElements(locator);
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            List<MobileElement> elements = getAppiumDriver().findElements(locator);
+            failed = false;
+            return elements;
+        } finally {
+            LocatorProfiler.getInstance().record(by, locator, System.nanoTime() - start, failed, testMethodName);
+        }
+    }
+
+    /**
+     * @return the locator to send to Appium for the {@link By}, rewritten into a native strategy when locators are
+     * optimized
+     */
+    private By locate(By by) {
+        if (configuration == null || !configuration.isOptimizeLocators()) {
+            return by;
+        }
+        return LocatorOptimizer.getInstance().optimize(by, configuration.getPlatformName());
+    }
+
     /***
      * Generic Perform Swipe Method
-     * Allows for different TouchAction presses: press() and longPress()
+     * Allows for different presses: a plain swipe, or a long press before moving
      * Can accept different start and end Points, by Appium's MobileElement, By, or Points
      *
      * @param direction - nullable, but required if `to` is null
-     * @param isLongPress - determines TouchAction as `press()` or `longPress()`
+     * @param isLongPress - determines whether the finger is held still before it moves
      * @param from - origin point of swipe, not nullable
      * @param to - destination point of swipe, nullable, but required if `direction` is null
      * @param percentage - modifies destination X and Y depending on `direction`
@@ -896,7 +1206,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
      ***/
 
     private Locomotive performSwipe(SwipeElementDirection direction, boolean isLongPress, Point from, Point to, float percentage, int swipeDurationInMillis) {
-        Dimension screen = getAppiumDriver().manage().window().getSize();
+        Dimension screen = getWindowSize();
 
         if (direction != null) {
             switch (direction) {
@@ -927,31 +1237,9 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
             throw new IllegalArgumentException("Swipe Direction and To Point are not specified.");
         }
 
-        // Appium specifies that TouchAction.moveTo should be relative. iOS implements this correctly, but android
-        // does not. As a result we have to check if we're on iOS and perform the relativization manually
-        if (configuration.getPlatformName() == Platform.IOS) {
-            to = new Point(to.getX() - from.getX(), to.getY() - from.getY());
-        }
-
         int swipeDuration = (swipeDurationInMillis != 0) ? swipeDurationInMillis : SWIPE_DURATION_MILLIS;
 
-        TouchAction swipe;
-        if (!isLongPress) {
-            swipe = new TouchAction(getAppiumDriver())
-                    .press(point(from.getX(), from.getY()))
-                    .waitAction(waitOptions(ofMillis(swipeDuration)))
-                    .moveTo(point(to.getX(), to.getY()))
-                    .release();
-        } else {
-            swipe = new TouchAction(getAppiumDriver())
-                    .longPress(point(from.getX(), from.getY()))
-                    .waitAction(waitOptions(ofMillis(swipeDuration)))
-                    .moveTo(point(to.getX(), to.getY()))
-                    .release();
-        }
-
-        swipe.perform();
-        return this;
+        return performGesture(from, to, swipeDuration, isLongPress);
     }
 
     //Overload method for using custom Points
@@ -970,7 +1258,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     private Locomotive performCornerSwipe(ScreenCorner corner, SwipeElementDirection direction, float percentage, int duration) {
-        Dimension screen = getAppiumDriver().manage().window().getSize();
+        Dimension screen = getWindowSize();
 
         final int SCREEN_MARGIN = 10;
 
@@ -1027,18 +1315,13 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
             throw new IllegalArgumentException("Swipe Direction not specified");
         }
 
-        // Appium specifies that TouchAction.moveTo should be relative. iOS implements this correctly, but android
-        // does not. As a result we have to check if we're on iOS and perform the relativization manually
-        if (configuration.getPlatformName() == Platform.IOS) {
-            to = new Point(to.getX() - from.getX(), to.getY() - from.getY());
-        }
+        return performGesture(from, to, duration, false);
+    }
 
-        new TouchAction(getAppiumDriver())
-                .press(point(from.getX(), from.getY()))
-                .waitAction(waitOptions(ofMillis(duration)))
-                .moveTo(point(to.getX(), to.getY()))
-                .release()
-                .perform();
+    private Locomotive performGesture(Point from, Point to, int durationInMillis, boolean isLongPress) {
+        GestureEngine.getInstance().swipe(getAppiumDriver(), configuration.getPlatformName(), from, to,
+                ofMillis(durationInMillis), isLongPress, configuration.isNativeGestures());
+        invalidateElementCache();
         return this;
     }
 
@@ -1047,7 +1330,8 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
         for (int i = 0; i < attempts; i++) {
             swipeCenterLong(direction);
             try {
-                mobileElement = (MobileElement) getAppiumDriver().findElement(by);
+                // a missing element is expected here, waiting for it would only delay the next swipe
+                mobileElement = (MobileElement) withoutImplicitWait(() -> findElement(by));
                 // element was found, check for visibility
                 if (mobileElement.isDisplayed()) {
                     // element is in view, exit the loop
@@ -1093,7 +1377,11 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
 
     @Deprecated
     public Point getCenter(WebElement element) {
-        return new Point(getXCenter(element), getYCenter(element));
+        if (element == null) {
+            Dimension screen = getWindowSize();
+            return new Point(screen.getWidth() / 2, screen.getHeight() / 2);
+        }
+        return ScreenGeometry.getCenter(element);
     }
 
     public int getXCenter(MobileElement element) {
@@ -1107,9 +1395,9 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     @Deprecated
     public int getXCenter(WebElement element) {
         if (element == null) {
-            return getAppiumDriver().manage().window().getSize().getWidth() / 2;
+            return getWindowSize().getWidth() / 2;
         } else {
-            return element.getLocation().getX() + (element.getSize().getWidth() / 2);
+            return ScreenGeometry.getCenter(element).getX();
         }
     }
 
@@ -1124,9 +1412,9 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     @Deprecated
     public int getYCenter(WebElement element) {
         if (element == null) {
-            return getAppiumDriver().manage().window().getSize().getHeight() / 2;
+            return getWindowSize().getHeight() / 2;
         } else {
-            return element.getLocation().getY() + (element.getSize().getHeight() / 2);
+            return ScreenGeometry.getCenter(element).getY();
         }
     }
 
@@ -1135,7 +1423,44 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public List<MobileElement> getElements(By by) {
-        return getAppiumDriver().findElements(by);
+        return findElements(by);
+    }
+
+    public List<ElementSnapshot> readElements(String id, String... attributes) {
+        return readElements(PageUtil.buildBy(configuration, id), attributes);
+    }
+
+    /**
+     * Reads the text, the given attributes and the bounds of every element located by the {@link By} at once.
+     * <p>
+     * Locators that can be evaluated on the page source are read from a single page source, instead of with a command
+     * per element and value. Others, like UiSelector or predicate string locators, fall back to reading every element
+     * separately.
+     *
+     * @param attributes the names of the attributes to read, as in the page source, e.g. "enabled" or "content-desc"
+     */
+    public List<ElementSnapshot> readElements(By by, String... attributes) {
+        try {
+            List<ElementSnapshot> snapshots = UiHierarchy.parse(getAppiumDriver().getPageSource(),
+                    configuration.getPlatformName()).read(by, attributes);
+            if (snapshots != null) {
+                return snapshots;
+            }
+            Logger.debug("{} cannot be evaluated on the page source, reading its elements one by one", by);
+        } catch (IllegalArgumentException exception) {
+            Logger.debug(exception, "Could not parse page source, reading {} one by one", by);
+        }
+
+        // Like the page source, which is read as it is, the session must not wait for elements to appear
+        List<ElementSnapshot> snapshots = new ArrayList<>();
+        for (MobileElement element : withoutImplicitWait(() -> findElements(by))) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (String attribute : attributes) {
+                values.put(attribute, element.getAttribute(attribute));
+            }
+            snapshots.add(new ElementSnapshot(element.getText(), values, element.getRect()));
+        }
+        return snapshots;
     }
 
     /**
@@ -1168,7 +1493,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public Locomotive validateTextIgnoreCase(By by, String text) {
-        return validateTextIgnoreCase(getAppiumDriver().findElement(by), text);
+        return assertTextIgnoreCase(text, getText(by));
     }
 
     public Locomotive validateTextIgnoreCase(MobileElement element, String text) {
@@ -1177,14 +1502,17 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
 
     @Deprecated
     public Locomotive validateTextIgnoreCase(WebElement element, String text) {
-        String actual = getText(element);
+        return assertTextIgnoreCase(text, getText(element));
+    }
+
+    private Locomotive assertTextIgnoreCase(String text, String actual) {
         Assert.assertTrue(String.format("Text does not match! [expected: %s] [actual: %s]", text, actual),
                 text.equalsIgnoreCase(actual));
         return this;
     }
 
     public Locomotive validateText(By by, String expected) {
-        return validateText(getAppiumDriver().findElement(by), expected);
+        return assertText(expected, getText(by));
     }
 
     public Locomotive validateText(MobileElement mobileElement, String expected) {
@@ -1193,7 +1521,10 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
 
     @Deprecated
     public Locomotive validateText(WebElement webElement, String expected) {
-        String actual = getText(webElement);
+        return assertText(expected, getText(webElement));
+    }
+
+    private Locomotive assertText(String expected, String actual) {
         Assert.assertEquals(String.format("Text does not match! [expected: %s] [actual: %s]", expected, actual), expected, actual);
         return this;
     }
@@ -1207,7 +1538,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public Locomotive validateTextNotIgnoreCase(By by, String text) {
-        return validateTextNotIgnoreCase(getAppiumDriver().findElement(by), text);
+        return assertTextNotIgnoreCase(text, getText(by));
     }
 
     public Locomotive validateTextNotIgnoreCase(MobileElement element, String text) {
@@ -1216,14 +1547,17 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
 
     @Deprecated
     public Locomotive validateTextNotIgnoreCase(WebElement element, String text) {
-        String actual = getText(element);
+        return assertTextNotIgnoreCase(text, getText(element));
+    }
+
+    private Locomotive assertTextNotIgnoreCase(String text, String actual) {
         Assert.assertFalse(String.format("Text matches! [expected: %s] [actual: %s]", text, actual),
                 text.equalsIgnoreCase(actual));
         return this;
     }
 
     public Locomotive validateTextNot(By by, String text) {
-        return validateTextNot(getAppiumDriver().findElement(by), text);
+        return assertTextNot(text, getText(by));
     }
 
     public Locomotive validateTextNot(MobileElement element, String text) {
@@ -1232,18 +1566,27 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
 
     @Deprecated
     public Locomotive validateTextNot(WebElement element, String unexpected) {
-        String actual = getText(element);
+        return assertTextNot(unexpected, getText(element));
+    }
+
+    private Locomotive assertTextNot(String unexpected, String actual) {
         Assert.assertNotEquals(String.format("Text matches! [expected: %s] [actual: %s]", unexpected, actual), unexpected, actual);
         return this;
     }
 
+    /**
+     * Validates that the text, label or value of an element on the screen contains the text.
+     */
     public Locomotive validateTextPresent(String text) {
-        Assert.assertTrue(getAppiumDriver().getPageSource().contains(text));
+        Assert.assertTrue("Text " + text + " is not present!", PageSourceMatcher.containsText(getPageSource(), text));
         return this;
     }
 
+    /**
+     * Validates that no text, label or value of an element on the screen contains the text.
+     */
     public Locomotive validateTextNotPresent(String text) {
-        Assert.assertFalse(getAppiumDriver().getPageSource().contains(text));
+        Assert.assertFalse("Text " + text + " is present!", PageSourceMatcher.containsText(getPageSource(), text));
         return this;
     }
 
@@ -1252,7 +1595,10 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     public Locomotive validateAttribute(By by, String attr, String expected) {
-        return validateAttribute(getAppiumDriver().findElement(by), attr, expected);
+        String selector = "[page source snapshot] -> " + by;
+        return withSnapshotElement(by, attr,
+                element -> assertAttribute(selector, attr, expected, element.getAttribute(attr)),
+                webElement -> validateAttribute(webElement, attr, expected));
     }
 
     public Locomotive validateAttribute(MobileElement element, String attr, String expected) {
@@ -1267,19 +1613,26 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
         String actual = null;
         try {
             actual = element.getAttribute(attr);
-            if (actual.equals(expected)) return this; // test passes.
         } catch (NoSuchElementException e) {
             Assert.fail("No such element [" + element.toString() + "] exists.");
         } catch (Exception x) {
             Assert.fail("Cannot validate an attribute if an element doesn't have it!");
         }
+        return assertAttribute(element.toString(), attr, expected, actual);
+    }
+
+    private Locomotive assertAttribute(String selector, String attr, String expected, String actual) {
+        if (actual == null) {
+            Assert.fail("Cannot validate an attribute if an element doesn't have it!");
+        }
+        if (actual.equals(expected)) return this; // test passes.
 
         Pattern p = Pattern.compile(expected);
         Matcher m = p.matcher(actual);
 
         Assert.assertTrue(
                 String.format("Attribute doesn't match! [Selector: %s] [Attribute: %s] [Desired value: %s] [Actual value: %s]",
-                        element.toString(),
+                        selector,
                         attr,
                         expected,
                         actual
@@ -1367,7 +1720,8 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     /**
-     * Wait for a specific condition (polling every 1s, for MAX_TIMEOUT seconds)
+     * Wait for a specific condition (polling every 1s unless {@link ConductorConfig#getWaitPolling()} is set, for
+     * MAX_TIMEOUT seconds)
      *
      * @param condition the condition to wait for
      * @return The implementing class for fluency
@@ -1377,34 +1731,286 @@ public class Locomotive extends Watchman implements Conductor<Locomotive>, Sauce
     }
 
     /**
-     * Wait for a specific condition (polling every 1s)
+     * Wait for a specific condition (polling every 1s unless {@link ConductorConfig#getWaitPolling()} is set)
      *
      * @param condition        the condition to wait for
      * @param timeOutInSeconds the timeout in seconds
      * @return The implementing class for fluency
      */
     public Locomotive waitForCondition(ExpectedCondition<?> condition, long timeOutInSeconds) {
-        return waitForCondition(condition, timeOutInSeconds, 1000); // poll every second
+        return waitForCondition(condition, timeOutInSeconds, getPollingPolicy(1000));
     }
 
     public Locomotive waitForCondition(ExpectedCondition<?> condition, long timeOutInSeconds, long sleepInMillis) {
-        WebDriverWait wait = new WebDriverWait(getAppiumDriver(), timeOutInSeconds, sleepInMillis);
-        wait.until(condition);
+        return waitForCondition(condition, timeOutInSeconds, PollingPolicy.fixed(sleepInMillis));
+    }
+
+    /**
+     * Wait for a specific condition, polling as told by the policy
+     *
+     * @param condition        the condition to wait for
+     * @param timeOutInSeconds the timeout in seconds
+     * @param policy           how long to sleep between evaluations of the condition
+     * @return The implementing class for fluency
+     */
+    public Locomotive waitForCondition(ExpectedCondition<?> condition, long timeOutInSeconds, PollingPolicy policy) {
+        waitFor(condition, timeOutInSeconds, policy, String.valueOf(condition));
         return this;
     }
 
+    private <V> V waitFor(Function<? super WebDriver, V> condition, long timeOutInSeconds, PollingPolicy policy,
+                          String key) {
+        // The wait polls by itself, an implicit wait would only stretch every poll that fails
+        return withoutImplicitWait(() -> WaitEngine.getInstance().until(getAppiumDriver(), condition,
+                TimeUnit.SECONDS.toMillis(timeOutInSeconds), policy, key));
+    }
+
+    /**
+     * Runs a lookup that must not wait for elements to appear, like a presence check, with the implicit wait at zero.
+     */
+    private <T> T withoutImplicitWait(Supplier<T> lookup) {
+        return ImplicitWaitManager.getInstance().withoutImplicitWait(getAppiumDriver(), lookup);
+    }
+
+    /**
+     * @return the policy of {@link ConductorConfig#getWaitPolling()}, or a fixed interval if none is configured
+     */
+    private PollingPolicy getPollingPolicy(long defaultIntervalMillis) {
+        if (configuration == null || configuration.getWaitPolling() == null) {
+            return PollingPolicy.fixed(defaultIntervalMillis);
+        }
+        return PollingPolicy.of(configuration.getWaitPolling(),
+                configuration.getWaitPollingInterval(), configuration.getWaitPollingMaxInterval());
+    }
+
     public Locomotive waitUntilNotPresent(String id) {
         return waitUntilNotPresent(PageUtil.buildBy(configuration, id));
     }
 
     public Locomotive waitUntilNotPresent(By by) {
-        return waitForCondition(ExpectedConditions.invisibilityOfElementLocated(by));
+        return waitForCondition(ExpectedConditions.invisibilityOfElementLocated(locate(by)));
     }
 
     public Locomotive waitUntilNotPresent(MobileElement element) {
         return waitForCondition(ExpectedConditions.invisibilityOf(element));
     }
 
+    public By waitForAny(By... bys) {
+        return waitForAny(5, bys);
+    }
+
+    /**
+     * Wait for the first of several elements to be present, e.g. to find out which of several screens an app opened.
+     * Every poll checks all locators on a single page source, so this takes one timeout however many locators there
+     * are. Locators that cannot be evaluated on the page source, like UiSelector or predicate strings, are looked up
+     * in the session.
+     *
+     * @param timeOutInSeconds the timeout in seconds
+     * @param bys              the elements to wait for
+     * @return the first of the locators whose element is present
+     * @throws TimeoutException if none of the elements is present within the timeout
+     */
+    public By waitForAny(long timeOutInSeconds, By... bys) {
+        List<By> locators = Arrays.asList(bys);
+        int index = waitFor(webDriver -> {
+            boolean[] present = findPresent(locators);
+            for (int i = 0; i < present.length; i++) {
+                if (present[i]) {
+                    return i;
+                }
+            }
+            return null;
+        }, timeOutInSeconds, getPollingPolicy(200), "any of " + locators);
+        return bys[index];
+    }
+
+    /**
+     * Wait for the first of several conditions. Every poll evaluates all of the conditions, so this takes one timeout
+     * however many conditions there are.
+     *
+     * @param timeOutInSeconds the timeout in seconds
+     * @param conditions       the conditions to wait for
+     * @return the index of the first condition that was met
+     * @throws TimeoutException if none of the conditions is met within the timeout
+     */
+    public int waitForAny(long timeOutInSeconds, ExpectedCondition<?>... conditions) {
+        List<ExpectedCondition<?>> waited = Arrays.asList(conditions);
+        return waitFor(webDriver -> {
+            for (int i = 0; i < conditions.length; i++) {
+                if (isMet(conditions[i], webDriver)) {
+                    return i;
+                }
+            }
+            return null;
+        }, timeOutInSeconds, getPollingPolicy(200), "any of " + waited);
+    }
+
+    public Locomotive waitForAll(By... bys) {
+        return waitForAll(5, bys);
+    }
+
+    /**
+     * Wait for several elements to be present, checking all of them on a single page source on every poll.
+     *
+     * @param timeOutInSeconds the timeout in seconds
+     * @param bys              the elements to wait for
+     * @return The implementing class for fluency
+     * @throws TimeoutException if not all of the elements are present within the timeout
+     */
+    public Locomotive waitForAll(long timeOutInSeconds, By... bys) {
+        List<By> locators = Arrays.asList(bys);
+        waitFor(webDriver -> {
+            for (boolean present : findPresent(locators)) {
+                if (!present) {
+                    return false;
+                }
+            }
+            return true;
+        }, timeOutInSeconds, getPollingPolicy(200), "all of " + locators);
+        return this;
+    }
+
+    /**
+     * Wait for several conditions to be met at the same time.
+     *
+     * @param timeOutInSeconds the timeout in seconds
+     * @param conditions       the conditions to wait for
+     * @return The implementing class for fluency
+     * @throws TimeoutException if the conditions are not all met within the timeout
+     */
+    public Locomotive waitForAll(long timeOutInSeconds, ExpectedCondition<?>... conditions) {
+        waitFor(webDriver -> {
+            for (ExpectedCondition<?> condition : conditions) {
+                if (!isMet(condition, webDriver)) {
+                    return false;
+                }
+            }
+            return true;
+        }, timeOutInSeconds, getPollingPolicy(200), "all of " + Arrays.asList(conditions));
+        return this;
+    }
+
+    /**
+     * Wait for the screen to stop changing, e.g. after navigating, instead of sleeping for a fixed time. Uses
+     * {@link ConductorConfig#getStableUiSamples()}, {@link ConductorConfig#getStableUiInterval()} and
+     * {@link ConductorConfig#getStableUiTimeout()}.
+     *
+     * @return true if the screen became stable, false if it was still changing at the timeout
+     */
+    public boolean waitForStableUi() {
+        return waitForStableUi(null);
+    }
+
+    /**
+     * Wait for the elements of the locator, and everything below them, to stop changing. Changes elsewhere on the
+     * screen, like a clock or a spinner, are ignored.
+     *
+     * @return true if the elements became stable, false if they were still changing or missing at the timeout
+     */
+    public boolean waitForStableUi(By subtree) {
+        return waitForStableUi(subtree, configuration.getStableUiSamples(), configuration.getStableUiInterval(),
+                configuration.getStableUiTimeout());
+    }
+
+    /**
+     * Wait for the screen, or the elements of the locator, to stop changing. The page source is sampled every
+     * {@code intervalMillis} and the screen is stable once {@code samples} consecutive samples have the same
+     * {@link UiFingerprint}.
+     *
+     * @param subtree        the elements to wait for, or null for the whole screen. Locators that cannot be evaluated
+     *                       on the page source wait for the whole screen. The elements must have appeared to be
+     *                       stable.
+     * @param samples        the amount of consecutive equal samples, at least 2
+     * @param intervalMillis the time between samples
+     * @param timeoutMillis  the time after which to stop waiting
+     * @return true if the screen became stable, false if it was still changing at the timeout
+     */
+    public boolean waitForStableUi(By subtree, int samples, long intervalMillis, long timeoutMillis) {
+        if (samples < 2) {
+            throw new IllegalArgumentException("At least 2 samples are needed to tell that the UI is stable, got "
+                    + samples);
+        }
+        long[] last = new long[1];
+        int[] equal = {0};
+        try {
+            WaitEngine.getInstance().until(getAppiumDriver(), webDriver -> {
+                Long fingerprint = fingerprint(subtree);
+                if (fingerprint == null) {
+                    // Elements that have not appeared yet are not stable, however often they are missing
+                    equal[0] = 0;
+                    return false;
+                }
+                equal[0] = equal[0] > 0 && fingerprint == last[0] ? equal[0] + 1 : 1;
+                last[0] = fingerprint;
+                return equal[0] >= samples;
+            }, timeoutMillis, PollingPolicy.fixed(intervalMillis),
+                    subtree == null ? "stable UI" : "stable UI of " + subtree);
+            return true;
+        } catch (TimeoutException exception) {
+            Logger.debug("UI was still changing after {} ms", timeoutMillis);
+            return false;
+        } finally {
+            // Whatever was read before the screen settled is out of date
+            invalidateElementCache();
+        }
+    }
+
+    /**
+     * @return the fingerprint of the subtree, or of the whole screen if the subtree cannot be evaluated on the page
+     * source, or null if the subtree matches no element
+     */
+    private Long fingerprint(By subtree) {
+        String pageSource = getAppiumDriver().getPageSource();
+        if (subtree != null) {
+            try {
+                List<Element> elements = UiHierarchy.parse(pageSource, configuration.getPlatformName()).find(subtree);
+                if (elements != null) {
+                    return elements.isEmpty() ? null : UiFingerprint.of(elements);
+                }
+            } catch (IllegalArgumentException exception) {
+                Logger.debug(exception, "Could not parse page source, fingerprinting all of it");
+            }
+        }
+        return UiFingerprint.of(pageSource);
+    }
+
+    /**
+     * @return for each locator whether its element is present, reading the page source at most once
+     */
+    private boolean[] findPresent(List<By> bys) {
+        boolean[] present = new boolean[bys.size()];
+        UiHierarchy hierarchy = null;
+        boolean unparseable = false;
+        for (int i = 0; i < present.length; i++) {
+            By locator = bys.get(i);
+            if (hierarchy == null && !unparseable
+                    && UiHierarchy.toXPath(locator, configuration.getPlatformName()) != null) {
+                try {
+                    hierarchy = UiHierarchy.parse(getAppiumDriver().getPageSource(), configuration.getPlatformName());
+                } catch (IllegalArgumentException exception) {
+                    // Fetching it again for the next locator would fail the same way
+                    unparseable = true;
+                    Logger.debug(exception, "Could not parse page source, looking up the elements in the session");
+                }
+            }
+            List<Element> elements = hierarchy == null ? null : hierarchy.find(locator);
+            present[i] = elements != null ? !elements.isEmpty() : !findElements(locator).isEmpty();
+        }
+        return present;
+    }
+
+    /**
+     * @return true if the condition returns neither null nor false, like a {@code WebDriverWait} expects
+     */
+    private static boolean isMet(ExpectedCondition<?> condition, WebDriver driver) {
+        try {
+            Object value = condition.apply(driver);
+            return value != null && !Boolean.FALSE.equals(value);
+        } catch (NotFoundException exception) {
+            return false;
+        }
+    }
+
     public String getTestMethodName() {
         return testMethodName;
     }
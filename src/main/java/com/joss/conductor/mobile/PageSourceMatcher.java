@@ -0,0 +1,72 @@
+package com.joss.conductor.mobile;
+
+import org.pmw.tinylog.Logger;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Looks for a text in the page source without building the document.
+ * <p>
+ * The page source is streamed element by element and only the attributes that hold what is shown on the screen
+ * ({@code text}, {@code label} and {@code value}) are matched, so that tag names, resource ids and other attributes
+ * cannot produce false positives. Matching stops at the first element containing the text.
+ */
+public final class PageSourceMatcher {
+
+    private static final Set<String> TEXT_ATTRIBUTES =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList("text", "label", "value")));
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private PageSourceMatcher() {
+    }
+
+    /**
+     * @return true if the text, label or value of any element of the page source contains the text. Page sources that
+     * are not well formed XML are searched as plain text instead.
+     */
+    public static boolean containsText(String pageSource, String text) {
+        try {
+            return containsText(new StringReader(pageSource), text);
+        } catch (XMLStreamException exception) {
+            Logger.debug(exception, "Could not stream page source, searching it as plain text");
+            return pageSource.contains(text);
+        }
+    }
+
+    static boolean containsText(Reader pageSource, String text) throws XMLStreamException {
+        XMLStreamReader reader = FACTORY.createXMLStreamReader(pageSource);
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                for (int i = 0; i < reader.getAttributeCount(); i++) {
+                    if (TEXT_ATTRIBUTES.contains(reader.getAttributeLocalName(i))
+                            && reader.getAttributeValue(i).contains(text)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+}
@@ -0,0 +1,57 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+
+import org.openqa.selenium.remote.SessionId;
+import org.pmw.tinylog.Logger;
+
+/**
+ * Keeps the parsed page source of the current screen of a session, so that back to back reads and validations share a
+ * single {@code getPageSource} command.
+ * <p>
+ * Like the {@link ElementCache}, the snapshot must be {@link #invalidate() invalidated} by every action that can change
+ * the screen. Because the app may also change the screen by itself, a snapshot is only used up to a maximum age.
+ * <p>
+ * Instances are not thread safe, {@link Locomotive} keeps one per thread.
+ */
+public class PageSourceSnapshot {
+
+    private UiHierarchy hierarchy;
+    private boolean fetched;
+    private Platform platform;
+    private SessionId sessionId;
+    private long fetchedAt;
+
+    /**
+     * @param maxAgeMillis the age after which the page source is fetched again, 0 to keep it until it is invalidated
+     * @return the hierarchy of the current screen, or null if the page source could not be parsed
+     */
+    public UiHierarchy get(AppiumDriver driver, Platform platform, long maxAgeMillis) {
+        long now = System.currentTimeMillis();
+        if (!fetched
+                || this.platform != platform
+                || sessionId == null || !sessionId.equals(driver.getSessionId())
+                || (maxAgeMillis > 0 && now - fetchedAt > maxAgeMillis)) {
+            hierarchy = null;
+            fetched = true;
+            this.platform = platform;
+            sessionId = driver.getSessionId();
+            fetchedAt = now;
+            try {
+                hierarchy = UiHierarchy.parse(driver.getPageSource(), platform);
+            } catch (IllegalArgumentException exception) {
+                // Remembered as well, so that the screen is not fetched again just to fail parsing again
+                Logger.debug(exception, "Could not parse page source, reading elements from the session instead");
+            }
+        }
+        return hierarchy;
+    }
+
+    /**
+     * Forgets the page source, to be called after the screen may have changed.
+     */
+    public void invalidate() {
+        hierarchy = null;
+        fetched = false;
+    }
+}
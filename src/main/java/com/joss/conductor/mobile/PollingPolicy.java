@@ -0,0 +1,171 @@
+package com.joss.conductor.mobile;
+
+/**
+ * Decides how long a wait of the {@link WaitEngine} sleeps before evaluating its condition again.
+ * <p>
+ * A fixed interval is either too slow for screens that are ready quickly or too busy for screens that take long. The
+ * growing policies poll quickly at first and back off up to a maximum interval. The adaptive policy uses the time the
+ * same wait took in the past to skip polls that would fail anyway.
+ */
+public interface PollingPolicy {
+
+    /**
+     * Unknown expected time, passed to {@link #nextDelay(int, long, long)} for waits that never succeeded before.
+     */
+    long UNKNOWN = -1;
+
+    /**
+     * @param attempt        the amount of evaluations of the condition so far, starting at 1
+     * @param elapsedMillis  the time since the wait started
+     * @param expectedMillis the time the same wait usually took to succeed, or {@link #UNKNOWN}
+     * @return the amount of milliseconds to sleep before the next evaluation
+     */
+    long nextDelay(int attempt, long elapsedMillis, long expectedMillis);
+
+    /**
+     * Polls every {@code intervalMillis}.
+     */
+    static PollingPolicy fixed(long intervalMillis) {
+        return new Fixed(intervalMillis);
+    }
+
+    /**
+     * Doubles the interval after every poll, from {@code initialMillis} up to {@code maxMillis}.
+     */
+    static PollingPolicy exponential(long initialMillis, long maxMillis) {
+        return new Exponential(initialMillis, maxMillis);
+    }
+
+    /**
+     * Grows the interval along the Fibonacci sequence, from {@code initialMillis} up to {@code maxMillis}. It backs
+     * off slower than {@link #exponential(long, long)}.
+     */
+    static PollingPolicy fibonacci(long initialMillis, long maxMillis) {
+        return new Fibonacci(initialMillis, maxMillis);
+    }
+
+    /**
+     * Halves the time left until the wait usually succeeds with every poll, so that polls get denser towards that time
+     * without overshooting it. Past that time the interval grows with how late the condition is. Intervals stay
+     * between {@code initialMillis} and {@code maxMillis}. Waits that never succeeded before back off exponentially.
+     */
+    static PollingPolicy adaptive(long initialMillis, long maxMillis) {
+        return new Adaptive(initialMillis, maxMillis);
+    }
+
+    /**
+     * @param name one of fixed, exponential, fibonacci and adaptive, in any case
+     * @throws IllegalArgumentException if the name is not one of the policies
+     */
+    static PollingPolicy of(String name, long initialMillis, long maxMillis) {
+        switch (name.toLowerCase()) {
+            case "fixed":
+                return fixed(initialMillis);
+            case "exponential":
+                return exponential(initialMillis, maxMillis);
+            case "fibonacci":
+                return fibonacci(initialMillis, maxMillis);
+            case "adaptive":
+                return adaptive(initialMillis, maxMillis);
+            default:
+                throw new IllegalArgumentException("Unknown polling policy: " + name
+                        + ", expected fixed, exponential, fibonacci or adaptive");
+        }
+    }
+
+    final class Fixed implements PollingPolicy {
+        private final long intervalMillis;
+
+        Fixed(long intervalMillis) {
+            this.intervalMillis = intervalMillis;
+        }
+
+        @Override
+        public long nextDelay(int attempt, long elapsedMillis, long expectedMillis) {
+            return intervalMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "fixed " + intervalMillis + " ms";
+        }
+    }
+
+    final class Exponential implements PollingPolicy {
+        private final long initialMillis;
+        private final long maxMillis;
+
+        Exponential(long initialMillis, long maxMillis) {
+            this.initialMillis = initialMillis;
+            this.maxMillis = Math.max(initialMillis, maxMillis);
+        }
+
+        @Override
+        public long nextDelay(int attempt, long elapsedMillis, long expectedMillis) {
+            // capping the exponent keeps the shift from overflowing on very long waits
+            return Math.min(maxMillis, initialMillis << Math.min(attempt - 1, 30));
+        }
+
+        @Override
+        public String toString() {
+            return "exponential " + initialMillis + "-" + maxMillis + " ms";
+        }
+    }
+
+    final class Fibonacci implements PollingPolicy {
+        private final long initialMillis;
+        private final long maxMillis;
+
+        Fibonacci(long initialMillis, long maxMillis) {
+            this.initialMillis = initialMillis;
+            this.maxMillis = Math.max(initialMillis, maxMillis);
+        }
+
+        @Override
+        public long nextDelay(int attempt, long elapsedMillis, long expectedMillis) {
+            long previous = 0;
+            long current = initialMillis;
+            for (int i = 1; i < attempt && current < maxMillis; i++) {
+                long next = previous + current;
+                previous = current;
+                current = next;
+            }
+            return Math.min(maxMillis, current);
+        }
+
+        @Override
+        public String toString() {
+            return "fibonacci " + initialMillis + "-" + maxMillis + " ms";
+        }
+    }
+
+    final class Adaptive implements PollingPolicy {
+        private final long initialMillis;
+        private final long maxMillis;
+        private final Exponential coldStart;
+
+        Adaptive(long initialMillis, long maxMillis) {
+            this.initialMillis = initialMillis;
+            this.maxMillis = Math.max(initialMillis, maxMillis);
+            this.coldStart = new Exponential(initialMillis, maxMillis);
+        }
+
+        @Override
+        public long nextDelay(int attempt, long elapsedMillis, long expectedMillis) {
+            if (expectedMillis == UNKNOWN) {
+                return coldStart.nextDelay(attempt, elapsedMillis, expectedMillis);
+            }
+            long delay = elapsedMillis < expectedMillis
+                    // polling before the usual time too is what lets the expectation drop when the app gets faster
+                    ? (expectedMillis - elapsedMillis) / 2
+                    // the later the condition is compared to usual, the less likely it is to be met on the next poll
+                    : (elapsedMillis - expectedMillis) / 2;
+            return Math.max(initialMillis, Math.min(maxMillis, delay));
+        }
+
+        @Override
+        public String toString() {
+            return "adaptive " + initialMillis + "-" + maxMillis + " ms";
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.ScreenOrientation;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Computes the points gestures are made of with as few commands as possible.
+ * <p>
+ * The bounds of an element are read with a single {@code getRect} command instead of {@code getLocation} and
+ * {@code getSize}. The window size never changes during a session other than by rotating the device, so it is fetched
+ * once per session and orientation. Rotations made through {@link Locomotive#rotate(ScreenOrientation)} are tracked;
+ * after rotating the device through the driver directly, call {@link #rotated(AppiumDriver, ScreenOrientation)} or
+ * {@link #invalidate()}.
+ * <p>
+ * Instances are not thread safe, {@link Locomotive} keeps one per thread.
+ */
+public class ScreenGeometry {
+
+    /**
+     * The window sizes by orientation, the null key holding the size in the orientation the session started in.
+     */
+    private final Map<ScreenOrientation, Dimension> windowSizes = new HashMap<>();
+    private ScreenOrientation orientation;
+    private SessionId sessionId;
+
+    /**
+     * @return the size of the window of the session in the current orientation
+     */
+    public Dimension getWindowSize(AppiumDriver driver) {
+        checkSession(driver);
+        Dimension size = windowSizes.get(orientation);
+        if (size == null) {
+            size = driver.manage().window().getSize();
+            windowSizes.put(orientation, size);
+        }
+        return size;
+    }
+
+    /**
+     * Records that the device of the session was rotated to the orientation.
+     */
+    public void rotated(AppiumDriver driver, ScreenOrientation orientation) {
+        checkSession(driver);
+        if (this.orientation == null) {
+            // The orientation the session started in is unknown, so its size cannot be told apart from the new one
+            windowSizes.clear();
+        }
+        this.orientation = orientation;
+    }
+
+    /**
+     * Forgets the window sizes, so that they are fetched again.
+     */
+    public void invalidate() {
+        windowSizes.clear();
+    }
+
+    private void checkSession(AppiumDriver driver) {
+        if (sessionId == null || !sessionId.equals(driver.getSessionId())) {
+            // Sizes of another session, possibly on another device, are meaningless
+            windowSizes.clear();
+            orientation = null;
+            sessionId = driver.getSessionId();
+        }
+    }
+
+    /**
+     * @return the bounds of the element, read with a single command where the server supports it
+     */
+    public static Rectangle getRect(WebElement element) {
+        try {
+            return element.getRect();
+        } catch (UnsupportedCommandException exception) {
+            // Servers speaking the JSON wire protocol only know the location and size commands
+            return new Rectangle(element.getLocation(), element.getSize());
+        }
+    }
+
+    public static Point getCenter(WebElement element) {
+        Rectangle rect = getRect(element);
+        return new Point(rect.getX() + rect.getWidth() / 2, rect.getY() + rect.getHeight() / 2);
+    }
+}
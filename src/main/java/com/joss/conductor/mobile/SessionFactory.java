@@ -0,0 +1,11 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.remote.DesiredCapabilities;
+
+/**
+ * Creates a brand new Appium session for the given capabilities.
+ */
+public interface SessionFactory {
+    AppiumDriver create(DesiredCapabilities capabilities);
+}
@@ -0,0 +1,304 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.remote.AndroidMobileCapabilityType;
+import io.appium.java_client.remote.IOSMobileCapabilityType;
+import io.appium.java_client.remote.MobileCapabilityType;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.pmw.tinylog.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps warm {@link AppiumDriver} sessions keyed on the {@link DesiredCapabilities} they were created with, so that
+ * consecutive tests can lease an already running session instead of paying for a new one.
+ * <p>
+ * Returned sessions get their app state reset instead of being quit. A session is evicted once it has been idle for
+ * longer than {@link ConductorConfig#getSessionPoolMaxIdle()} seconds, or than the {@code newCommandTimeout} after
+ * which Appium quits it, or has been leased {@link ConductorConfig#getSessionPoolMaxUses()} times. Idle sessions are
+ * probed before they are leased, so that sessions the server quit anyway are replaced instead of failing the test.
+ * <p>
+ * Capabilities that pin a device, by udid or by the ports of the automation engine, get a single session: a second
+ * session would fight the first over the device.
+ */
+public class SessionPool {
+
+    private static final SessionPool INSTANCE = new SessionPool();
+    private static final int APPIUM_NEW_COMMAND_TIMEOUT = 60;
+    private static final String[] PINNING_CAPABILITIES = {MobileCapabilityType.UDID,
+            AndroidMobileCapabilityType.SYSTEM_PORT, IOSMobileCapabilityType.WDA_LOCAL_PORT};
+
+    private final Map<Map<String, Object>, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Map<AppiumDriver, PooledSession> leased = new ConcurrentHashMap<>();
+    private final ExecutorService warmUpExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "conductor-session-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    SessionPool() {
+    }
+
+    public static SessionPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Leases a session matching the capabilities, creating one if no live idle session is available.
+     * <p>
+     * Every lease also tops the sessions for the capabilities up to {@link ConductorConfig#getSessionPoolSize()} in
+     * the background, so that evicted sessions are replaced before the next test needs them.
+     */
+    public AppiumDriver lease(ConductorConfig config, DesiredCapabilities capabilities, SessionFactory factory) {
+        Map<String, Object> key = new HashMap<>(capabilities.asMap());
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket());
+
+        PooledSession session;
+        while (true) {
+            List<PooledSession> expired = new ArrayList<>();
+            synchronized (bucket) {
+                collectExpired(bucket, config, expired);
+                session = bucket.idle.pollFirst();
+                if (session == null) {
+                    bucket.live++;
+                }
+            }
+            expired.forEach(this::discard);
+            if (session == null || isAlive(session.driver)) {
+                break;
+            }
+            discard(session);
+        }
+
+        if (session == null) {
+            session = create(bucket, capabilities, factory);
+        }
+        warmUp(bucket, config, capabilities, factory);
+
+        session.uses++;
+        leased.put(session.driver, session);
+        return session.driver;
+    }
+
+    /**
+     * Returns a leased session to the pool. Sessions that were not leased from the pool are simply quit.
+     */
+    public void release(AppiumDriver driver, ConductorConfig config) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            SessionRegistry.getInstance().quit(driver);
+            return;
+        }
+
+        if (config.getSessionPoolMaxUses() > 0 && session.uses >= config.getSessionPoolMaxUses()) {
+            discard(session);
+            return;
+        }
+
+        try {
+            resetAppState(driver, config);
+        } catch (WebDriverException exception) {
+            Logger.warn(exception, "Could not reset app state, evicting session {}", driver.getSessionId());
+            discard(session);
+            return;
+        }
+
+        session.lastReleased = System.nanoTime();
+        synchronized (session.bucket) {
+            session.bucket.idle.addFirst(session);
+        }
+    }
+
+    /**
+     * Quits every idle session. Leased sessions are left to their owners.
+     */
+    public void evictAll() {
+        List<PooledSession> sessions = new ArrayList<>();
+        for (Bucket bucket : buckets.values()) {
+            synchronized (bucket) {
+                sessions.addAll(bucket.idle);
+                bucket.idle.clear();
+            }
+        }
+        sessions.forEach(this::discard);
+    }
+
+    int idleCount() {
+        int count = 0;
+        for (Bucket bucket : buckets.values()) {
+            synchronized (bucket) {
+                count += bucket.idle.size();
+            }
+        }
+        return count;
+    }
+
+    private PooledSession create(Bucket bucket, DesiredCapabilities capabilities, SessionFactory factory) {
+        try {
+            return new PooledSession(bucket, factory.create(new DesiredCapabilities(capabilities)));
+        } catch (RuntimeException exception) {
+            synchronized (bucket) {
+                bucket.live--;
+            }
+            throw exception;
+        }
+    }
+
+    private void warmUp(Bucket bucket, ConductorConfig config, DesiredCapabilities capabilities, SessionFactory factory) {
+        int size = capacity(config, capabilities);
+        DesiredCapabilities copy = new DesiredCapabilities(capabilities);
+        while (true) {
+            synchronized (bucket) {
+                if (bucket.live >= size) {
+                    return;
+                }
+                bucket.live++;
+            }
+            warmUpExecutor.execute(() -> {
+                try {
+                    PooledSession session = create(bucket, copy, factory);
+                    session.lastReleased = System.nanoTime();
+                    synchronized (bucket) {
+                        bucket.idle.addLast(session);
+                    }
+                } catch (RuntimeException exception) {
+                    Logger.warn(exception, "Could not pre-create pooled Appium session");
+                }
+            });
+        }
+    }
+
+    /**
+     * @return the amount of sessions to keep for the capabilities, 1 if they pin a device
+     */
+    static int capacity(ConductorConfig config, DesiredCapabilities capabilities) {
+        if (config.getSessionPoolSize() <= 1) {
+            return config.getSessionPoolSize();
+        }
+        String pinning = pinningCapability(capabilities);
+        if (pinning != null) {
+            Logger.debug("{} pins the device of the session, pooling a single session instead of {}",
+                    pinning, config.getSessionPoolSize());
+            return 1;
+        }
+        return config.getSessionPoolSize();
+    }
+
+    /**
+     * @return the name of the capability pinning the session to a device, by udid or by the ports of the automation
+     * engine, or null if any device will do
+     */
+    static String pinningCapability(DesiredCapabilities capabilities) {
+        for (String name : PINNING_CAPABILITIES) {
+            Object value = capabilities.getCapability(name);
+            if (value != null && StringUtils.isNotEmpty(value.toString())) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sends a cheap command to the session, which fails if the server quit the session in the meantime.
+     */
+    static boolean isAlive(AppiumDriver driver) {
+        try {
+            driver.getContext();
+            return true;
+        } catch (WebDriverException exception) {
+            Logger.info("Idle session {} is gone, replacing it: {}", driver.getSessionId(), exception.getMessage());
+            return false;
+        }
+    }
+
+    private void collectExpired(Bucket bucket, ConductorConfig config, List<PooledSession> expired) {
+        long maxIdleSeconds = maxIdleSeconds(config);
+        if (maxIdleSeconds <= 0) {
+            return;
+        }
+        long maxIdle = TimeUnit.SECONDS.toNanos(maxIdleSeconds);
+        long now = System.nanoTime();
+        Iterator<PooledSession> iterator = bucket.idle.iterator();
+        while (iterator.hasNext()) {
+            PooledSession session = iterator.next();
+            if (now - session.lastReleased > maxIdle) {
+                iterator.remove();
+                expired.add(session);
+            }
+        }
+    }
+
+    /**
+     * @return the seconds a session may be idle, at most the {@code newCommandTimeout} after which Appium quits it,
+     * or 0 if there is no limit
+     */
+    static long maxIdleSeconds(ConductorConfig config) {
+        long maxIdle = config.getSessionPoolMaxIdle();
+        String newCommandTimeout = config.getNewCommandTimeout();
+        long commandTimeout = StringUtils.isBlank(newCommandTimeout)
+                ? APPIUM_NEW_COMMAND_TIMEOUT
+                : NumberUtils.toLong(newCommandTimeout.trim(), APPIUM_NEW_COMMAND_TIMEOUT);
+        if (commandTimeout > 0 && (maxIdle <= 0 || commandTimeout < maxIdle)) {
+            return commandTimeout;
+        }
+        return maxIdle;
+    }
+
+    private void resetAppState(AppiumDriver driver, ConductorConfig config) {
+        if (config.isSessionPoolClearAppData()) {
+            driver.resetApp();
+            return;
+        }
+
+        String appId = config.getAppPackageName();
+        if (StringUtils.isNotEmpty(appId)) {
+            driver.terminateApp(appId);
+            driver.activateApp(appId);
+        } else {
+            driver.closeApp();
+            driver.launchApp();
+        }
+    }
+
+    private void discard(PooledSession session) {
+        synchronized (session.bucket) {
+            session.bucket.live--;
+        }
+        try {
+            SessionRegistry.getInstance().quit(session.driver);
+        } catch (WebDriverException exception) {
+            Logger.warn(exception, "WebDriverException occurred while evicting pooled session");
+        }
+    }
+
+    private static class Bucket {
+        private final Deque<PooledSession> idle = new ArrayDeque<>();
+        private int live;
+    }
+
+    private static class PooledSession {
+        private final Bucket bucket;
+        private final AppiumDriver driver;
+        private int uses;
+        private long lastReleased;
+
+        PooledSession(Bucket bucket, AppiumDriver driver) {
+            this.bucket = bucket;
+            this.driver = driver;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.pmw.tinylog.Logger;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts the session for the next test in the background while the current test runs, so that
+ * {@link Locomotive#init} only has to pick up a ready driver.
+ * <p>
+ * At most {@link ConductorConfig#getSessionPrefetch()} sessions are prefetched at any time, which keeps the amount of
+ * devices held by the framework bounded. This only pays off when the hub can serve more than one session for the same
+ * capabilities, e.g. a grid or a device cloud. Tests spread over {@link ConductorConfig#getDevices()} do not prefetch:
+ * the next session would need the device of the running test, with the same ports. For the same reason capabilities
+ * pinning a device by udid, {@code systemPort} or {@code wdaLocalPort} do not prefetch either.
+ * <p>
+ * A prefetched session is idle until it is taken, so it is dropped once it is older than
+ * {@link SessionPool#maxIdleSeconds(ConductorConfig)}, and probed before it is handed out, so that a session the server
+ * quit in the meantime is replaced instead of failing the next test.
+ */
+public class SessionPrefetcher {
+
+    private static final SessionPrefetcher INSTANCE = new SessionPrefetcher();
+
+    private final Map<Map<String, Object>, Deque<Future<PrefetchedSession>>> prefetched = new ConcurrentHashMap<>();
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "conductor-session-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger generation = new AtomicInteger();
+
+    SessionPrefetcher() {
+    }
+
+    public static SessionPrefetcher getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Takes a prefetched session for the capabilities, or creates one if none is ready, and starts prefetching the
+     * session for the next test.
+     */
+    public AppiumDriver take(ConductorConfig config, DesiredCapabilities capabilities, SessionFactory factory) {
+        Map<String, Object> key = new HashMap<>(capabilities.asMap());
+
+        Deque<Future<PrefetchedSession>> ready = prefetched.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+        AppiumDriver driver = null;
+        Future<PrefetchedSession> future;
+        while (driver == null && (future = ready.pollFirst()) != null) {
+            driver = usable(future, config);
+        }
+
+        if (driver == null) {
+            driver = factory.create(new DesiredCapabilities(capabilities));
+        }
+
+        String pinning = SessionPool.pinningCapability(capabilities);
+        if (pinning == null) {
+            prefetch(key, config.getSessionPrefetch(), new DesiredCapabilities(capabilities), factory);
+        } else {
+            Logger.debug("{} pins the device of the session, not prefetching the next session", pinning);
+        }
+        return driver;
+    }
+
+    /**
+     * Cancels pending prefetches and quits every prefetched session that was never taken. Called at the end of the
+     * suite.
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+
+        List<Future<PrefetchedSession>> futures = new ArrayList<>();
+        for (Deque<Future<PrefetchedSession>> deque : prefetched.values()) {
+            Future<PrefetchedSession> future;
+            while ((future = deque.pollFirst()) != null) {
+                futures.add(future);
+            }
+        }
+
+        for (Future<PrefetchedSession> future : futures) {
+            outstanding.decrementAndGet();
+            if (!future.isDone() && future.cancel(false)) {
+                // the task quits its own session once it notices the cancellation
+                continue;
+            }
+            try {
+                PrefetchedSession session = future.get();
+                quit(session == null ? null : session.driver);
+            } catch (ExecutionException ignored) {
+                // session was never created, nothing to clean up
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void prefetch(Map<String, Object> key, int lookAhead, DesiredCapabilities capabilities, SessionFactory factory) {
+        while (true) {
+            int current = outstanding.get();
+            if (current >= lookAhead) {
+                return;
+            }
+            if (outstanding.compareAndSet(current, current + 1)) {
+                break;
+            }
+        }
+
+        int submittedGeneration = generation.get();
+        prefetched.get(key).addLast(executor.submit(() -> {
+            AppiumDriver driver = factory.create(capabilities);
+            if (generation.get() != submittedGeneration) {
+                quit(driver);
+                return null;
+            }
+            return new PrefetchedSession(driver, System.nanoTime());
+        }));
+    }
+
+    /**
+     * @return the driver of the prefetched session, or null if it could not be started, has been idle for too long or
+     * is gone
+     */
+    private AppiumDriver usable(Future<PrefetchedSession> future, ConductorConfig config) {
+        PrefetchedSession session;
+        try {
+            session = future.get();
+        } catch (ExecutionException exception) {
+            Logger.warn(exception.getCause(), "Prefetched Appium session could not be started");
+            return null;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            outstanding.decrementAndGet();
+        }
+        if (session == null) {
+            return null;
+        }
+
+        long maxIdleSeconds = SessionPool.maxIdleSeconds(config);
+        if (maxIdleSeconds > 0 && System.nanoTime() - session.created > TimeUnit.SECONDS.toNanos(maxIdleSeconds)) {
+            Logger.info("Prefetched session {} was idle for too long, replacing it", session.driver.getSessionId());
+            quit(session.driver);
+            return null;
+        }
+        if (!SessionPool.isAlive(session.driver)) {
+            quit(session.driver);
+            return null;
+        }
+        return session.driver;
+    }
+
+    private void quit(AppiumDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        try {
+            SessionRegistry.getInstance().quit(driver);
+        } catch (WebDriverException exception) {
+            Logger.warn(exception, "WebDriverException occurred while quitting prefetched session");
+        }
+    }
+
+    private static class PrefetchedSession {
+        private final AppiumDriver driver;
+        private final long created;
+
+        PrefetchedSession(AppiumDriver driver, long created) {
+            this.driver = driver;
+            this.created = created;
+        }
+    }
+}
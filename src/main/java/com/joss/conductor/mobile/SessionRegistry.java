@@ -0,0 +1,126 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+
+import org.openqa.selenium.WebDriverException;
+import org.pmw.tinylog.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks every Appium session started by this JVM, so that none of them is left holding a device until the server's
+ * newCommandTimeout when a test fails to quit its session.
+ * <p>
+ * Sessions that are still alive when the suite ends, or when the JVM exits, are reaped: they are all quit in parallel
+ * and the reaper gives up on the ones that did not quit within {@link ConductorConfig#getSessionReapTimeout()}. The
+ * JVM shutdown hook of the registry also releases the session pool, the prefetched sessions and the local Appium
+ * servers, in that order.
+ */
+public class SessionRegistry {
+
+    private static final SessionRegistry INSTANCE = new SessionRegistry();
+    private static final int MAX_REAPER_THREADS = 16;
+
+    private final Set<AppiumDriver> live = ConcurrentHashMap.newKeySet();
+    private volatile long reapTimeoutMillis = TimeUnit.SECONDS.toMillis(30);
+
+    SessionRegistry() {
+    }
+
+    static {
+        try {
+            Runtime.getRuntime().addShutdownHook(new Thread(SessionRegistry::shutdown, "conductor-session-reaper"));
+        } catch (IllegalStateException ignored) {
+            // VM already shutting down; Irrelevant
+        }
+    }
+
+    public static SessionRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public void register(AppiumDriver driver) {
+        live.add(driver);
+    }
+
+    /**
+     * Quits the session and stops tracking it.
+     *
+     * @throws WebDriverException if the session could not be quit
+     */
+    public void quit(AppiumDriver driver) {
+        live.remove(driver);
+        driver.quit();
+    }
+
+    /**
+     * @param timeout the time {@link #reap()} waits for all sessions to quit
+     */
+    public void setReapTimeout(long timeout, TimeUnit unit) {
+        this.reapTimeoutMillis = unit.toMillis(timeout);
+    }
+
+    /**
+     * Quits every session that is still alive, in parallel.
+     *
+     * @return the amount of sessions that did not quit within the reap timeout
+     */
+    public int reap() {
+        List<AppiumDriver> drivers = new ArrayList<>(live);
+        if (drivers.isEmpty()) {
+            return 0;
+        }
+        live.removeAll(drivers);
+        Logger.info("Quitting {} Appium session(s) that are still alive", drivers.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(drivers.size(), MAX_REAPER_THREADS),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "conductor-session-reaper");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        CountDownLatch quit = new CountDownLatch(drivers.size());
+        for (AppiumDriver driver : drivers) {
+            executor.execute(() -> {
+                try {
+                    driver.quit();
+                } catch (WebDriverException exception) {
+                    Logger.warn(exception, "WebDriverException occurred while reaping session");
+                } finally {
+                    quit.countDown();
+                }
+            });
+        }
+        executor.shutdown();
+
+        try {
+            if (quit.await(reapTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return 0;
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        int remaining = (int) quit.getCount();
+        Logger.warn("{} Appium session(s) did not quit within {} ms", remaining, reapTimeoutMillis);
+        executor.shutdownNow();
+        return remaining;
+    }
+
+    int liveCount() {
+        return live.size();
+    }
+
+    private static void shutdown() {
+        SessionPrefetcher.getInstance().cancel();
+        // Idle pooled sessions are registered as well, so they are quit in parallel with the others
+        INSTANCE.reap();
+        AppiumServerRegistry.getInstance().stopAll();
+    }
+}
@@ -0,0 +1,92 @@
+package com.joss.conductor.mobile;
+
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Decides whether, and after how long, a failed attempt to start an Appium session should be retried.
+ * <p>
+ * Delays grow exponentially from {@link ConductorConfig#getStartSessionRetryDelay()} up to
+ * {@link ConductorConfig#getStartSessionMaxRetryDelay()} with random jitter, so that parallel threads don't hit a
+ * saturated grid in bursts. Retrying stops once {@link ConductorConfig#getStartSessionRetries()} attempts have been
+ * made, the next attempt would start after the {@link ConductorConfig#getStartSessionTimeBudget()}, or the failure is
+ * one that another attempt cannot fix, e.g. invalid capabilities.
+ */
+public class SessionRetryPolicy {
+
+    /**
+     * Returned by {@link #nextDelay(int, WebDriverException, long)} when the session start should not be retried.
+     */
+    public static final long GIVE_UP = -1;
+
+    private static final Pattern PERMANENT_FAILURE = Pattern.compile(
+            "(?is).*(invalid.{0,40}capabilit|capabilit.{0,80}(invalid|not valid|required|must (be|include|contain)|not supported)"
+                    + "|app.{0,120}(does not exist|is not accessible)|bad parameters).*");
+
+    private final int maxAttempts;
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final long timeBudgetMillis;
+    private final DoubleSupplier jitter;
+
+    public SessionRetryPolicy(ConductorConfig config) {
+        this(config, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    SessionRetryPolicy(ConductorConfig config, DoubleSupplier jitter) {
+        this.maxAttempts = config.getStartSessionRetries();
+        this.initialDelayMillis = config.getStartSessionRetryDelay();
+        this.maxDelayMillis = config.getStartSessionMaxRetryDelay();
+        this.timeBudgetMillis = config.getStartSessionTimeBudget() * 1000L;
+        this.jitter = jitter;
+    }
+
+    /**
+     * @param attempt       the attempt that just failed, starting at 1
+     * @param exception     the reason the attempt failed
+     * @param elapsedMillis time spent on all attempts so far
+     * @return the amount of milliseconds to wait before the next attempt, or {@link #GIVE_UP}
+     */
+    public long nextDelay(int attempt, WebDriverException exception, long elapsedMillis) {
+        if (attempt >= maxAttempts || !isRetryable(exception)) {
+            return GIVE_UP;
+        }
+
+        long delay = backoff(attempt);
+        if (timeBudgetMillis > 0 && elapsedMillis + delay >= timeBudgetMillis) {
+            return GIVE_UP;
+        }
+        return delay;
+    }
+
+    /**
+     * Connection problems, timeouts and server errors are worth another attempt. Failures caused by the request
+     * itself, like malformed or unsupported capabilities, are not.
+     */
+    public boolean isRetryable(WebDriverException exception) {
+        if (exception instanceof InvalidArgumentException) {
+            return false;
+        }
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && PERMANENT_FAILURE.matcher(message).matches()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long backoff(int attempt) {
+        if (initialDelayMillis <= 0) {
+            return 0;
+        }
+        double exponential = initialDelayMillis * Math.pow(2, attempt - 1);
+        long capped = (long) Math.min(exponential, Math.max(maxDelayMillis, initialDelayMillis));
+        // keep at least half of the delay so that retries are always spaced out
+        return capped / 2 + (long) (jitter.getAsDouble() * (capped / 2));
+    }
+}
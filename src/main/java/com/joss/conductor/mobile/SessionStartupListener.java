@@ -0,0 +1,10 @@
+package com.joss.conductor.mobile;
+
+/**
+ * Notified every time a {@link Locomotive} finished starting an Appium session, whether it succeeded or not.
+ * <p>
+ * Listeners are called on the thread of the test that started the session.
+ */
+public interface SessionStartupListener {
+    void onSessionStartup(SessionStartupTimings timings);
+}
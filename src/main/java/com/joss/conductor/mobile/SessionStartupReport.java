@@ -0,0 +1,92 @@
+package com.joss.conductor.mobile;
+
+import com.joss.conductor.mobile.util.ArtifactUtil;
+
+import org.pmw.tinylog.Logger;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * Collects the startup timings of all sessions and writes them to
+ * {@code target/test-artifacts/session-startup.jsonl}, one JSON object per session, when the suite finishes.
+ */
+public class SessionStartupReport implements SessionStartupListener {
+
+    private static final SessionStartupReport INSTANCE = new SessionStartupReport();
+
+    private final Queue<SessionStartupTimings> timings = new ConcurrentLinkedQueue<>();
+    private boolean written;
+
+    public static SessionStartupReport getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void onSessionStartup(SessionStartupTimings timings) {
+        this.timings.add(timings);
+    }
+
+    /**
+     * Writes the timings collected since the last call to the report and logs the median of every phase. The report
+     * of a previous run is replaced, later suites of the same run are appended.
+     */
+    public void write() {
+        write(Paths.get(ArtifactUtil.WORKING_DIR, ArtifactUtil.DIR, "session-startup.jsonl"));
+    }
+
+    synchronized void write(Path file) {
+        List<SessionStartupTimings> collected = new ArrayList<>();
+        for (SessionStartupTimings next; (next = timings.poll()) != null; ) {
+            collected.add(next);
+        }
+        if (collected.isEmpty()) {
+            return;
+        }
+
+        if (ArtifactUtil.writeJsonLines(file, collected, SessionStartupReport::toJson, written)) {
+            written = true;
+        }
+
+        StringBuilder summary = new StringBuilder();
+        summary.append("total=").append(median(collected, SessionStartupTimings::getTotalMillis)).append("ms");
+        for (SessionStartupTimings.Phase phase : SessionStartupTimings.Phase.values()) {
+            summary.append(' ').append(phase.name().toLowerCase()).append('=')
+                    .append(median(collected, session -> session.getPhaseMillis(phase))).append("ms");
+        }
+        Logger.info("Median startup of {} Appium session(s): {}", collected.size(), summary);
+    }
+
+    static Map<String, ?> toJson(SessionStartupTimings session) {
+        Map<String, Object> phases = new LinkedHashMap<>();
+        for (SessionStartupTimings.Phase phase : SessionStartupTimings.Phase.values()) {
+            phases.put(phase.name().toLowerCase(), session.getPhaseMillis(phase));
+        }
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("test", session.getTestName());
+        line.put("udid", session.getUdid());
+        line.put("start", session.getStartMillis());
+        line.put("attempts", session.getAttempts());
+        line.put("succeeded", session.isSucceeded());
+        line.put("totalMillis", session.getTotalMillis());
+        line.put("phaseMillis", phases);
+        return line;
+    }
+
+    private static long median(List<SessionStartupTimings> sessions, ToLongFunction<SessionStartupTimings> value) {
+        List<Long> values = new ArrayList<>();
+        for (SessionStartupTimings session : sessions) {
+            values.add(value.applyAsLong(session));
+        }
+        Collections.sort(values);
+        return values.get(values.size() / 2);
+    }
+}
@@ -0,0 +1,108 @@
+package com.joss.conductor.mobile;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Where the time went while a test waited for its Appium session.
+ * <p>
+ * Phases don't overlap, time that is not spent in any phase (e.g. allocating a device) only shows in
+ * {@link #getTotalMillis()}.
+ */
+public class SessionStartupTimings {
+
+    public enum Phase {
+        /**
+         * Reading the config.yaml, when the test did not set a configuration itself
+         */
+        CONFIG_LOAD,
+        /**
+         * Building the capabilities, including {@link Locomotive#onCapabilitiesCreated}
+         */
+        CAPABILITIES,
+        /**
+         * Booting or health checking a local Appium server
+         */
+        LOCAL_SERVER,
+        /**
+         * The new session request of the attempt that succeeded, or the wait for a pooled or prefetched session
+         */
+        NEW_SESSION,
+        /**
+         * The round trip of a first command, see {@link ConductorConfig#isSessionStartupProbe()}
+         */
+        FIRST_COMMAND,
+        /**
+         * Attempts that failed plus the delays between attempts
+         */
+        RETRIES
+    }
+
+    private final String testName;
+    private final long startNanos = System.nanoTime();
+    private final long startMillis = System.currentTimeMillis();
+    private final Map<Phase, Long> phases = new EnumMap<>(Phase.class);
+    private String udid;
+    private int attempts;
+    private boolean succeeded;
+    private long totalMillis = -1;
+
+    SessionStartupTimings(String testName) {
+        this.testName = testName;
+    }
+
+    void add(Phase phase, long millis) {
+        phases.merge(phase, millis, Long::sum);
+    }
+
+    void setUdid(String udid) {
+        this.udid = udid;
+    }
+
+    void finish(int attempts, boolean succeeded) {
+        this.attempts = attempts;
+        this.succeeded = succeeded;
+        this.totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    boolean isFinished() {
+        return totalMillis >= 0;
+    }
+
+    public String getTestName() {
+        return testName;
+    }
+
+    /**
+     * @return the time the session start began, in epoch millis
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    public String getUdid() {
+        return udid;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public boolean isSucceeded() {
+        return succeeded;
+    }
+
+    public long getPhaseMillis(Phase phase) {
+        return phases.getOrDefault(phase, 0L);
+    }
+
+    public Map<Phase, Long> getPhases() {
+        return Collections.unmodifiableMap(phases);
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+}
@@ -1,6 +1,8 @@
 package com.joss.conductor.mobile;
 
 import com.joss.conductor.mobile.util.ScreenShotUtil;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
@@ -8,7 +10,7 @@ import org.testng.ITestResult;
 /**
  * Created on 3/21/17.
  */
-public class TestListener implements ITestListener {
+public class TestListener implements ITestListener, ISuiteListener {
 
     public void onTestStart(ITestResult result) {
 
@@ -47,4 +49,23 @@ public class TestListener implements ITestListener {
     public void onFinish(ITestContext context) {
 
     }
+
+    public void onStart(ISuite suite) {
+
+    }
+
+    /**
+     * Releases the sessions that were started ahead of time but are not going to be used by any test, quits the
+     * sessions that tests leaked, and writes the session startup timings, locator rewrites, locator latencies and wait
+     * metrics of the suite.
+     */
+    public void onFinish(ISuite suite) {
+        SessionPrefetcher.getInstance().cancel();
+        SessionPool.getInstance().evictAll();
+        SessionRegistry.getInstance().reap();
+        SessionStartupReport.getInstance().write();
+        LocatorOptimizer.getInstance().write();
+        LocatorProfiler.getInstance().write();
+        WaitEngine.getInstance().write();
+    }
 }
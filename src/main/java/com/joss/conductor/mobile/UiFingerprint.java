@@ -0,0 +1,71 @@
+package com.joss.conductor.mobile;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import java.util.List;
+
+/**
+ * Hashes the page source, or part of it, so that two samples of the screen can be compared cheaply. Anything shown on
+ * the screen, including the bounds of moving elements, is part of the page source, so the screen is still changing as
+ * long as its fingerprint does.
+ */
+public final class UiFingerprint {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private UiFingerprint() {
+    }
+
+    /**
+     * @return the fingerprint of the whole page source
+     */
+    public static long of(String pageSource) {
+        return hash(OFFSET_BASIS, pageSource);
+    }
+
+    /**
+     * @return the fingerprint of the elements and everything below them
+     */
+    public static long of(List<Element> elements) {
+        long hash = OFFSET_BASIS;
+        for (Element element : elements) {
+            hash = hash(hash, element);
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, Element element) {
+        hash = hash(hash, element.getTagName());
+        // The parser orders attributes the same way for equal elements, so equal subtrees hash the same
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attribute = (Attr) attributes.item(i);
+            hash = hash(hash(hash, attribute.getName()), attribute.getValue());
+        }
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element) {
+                hash = hash(hash, (Element) child);
+            }
+        }
+        // Closes the element, so that a child and a sibling do not hash the same
+        return hash(hash, '/');
+    }
+
+    /**
+     * FNV-1a over the characters, with a separator so that adjacent strings cannot be shifted into each other.
+     */
+    private static long hash(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = hash(hash, value.charAt(i));
+        }
+        return hash(hash, '\0');
+    }
+
+    private static long hash(long hash, char value) {
+        return (hash ^ value) * PRIME;
+    }
+}
@@ -0,0 +1,354 @@
+package com.joss.conductor.mobile;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The view hierarchy of a screen, parsed from the page source of the session.
+ * <p>
+ * Locators whose strategy can be expressed as an XPath over the page source (xpath, id, accessibility id, class name
+ * and, on iOS, name) are evaluated locally, so that many elements can be read from one page source instead of with a
+ * command per element and value. Other strategies, like UiSelector or predicate strings, can only be evaluated by
+ * Appium.
+ * <p>
+ * Lookups by resource-id, name, accessibility id, text and class, including single step XPaths that match on one of
+ * these, are answered from indexes built the first time they are needed, rather than by evaluating an XPath.
+ */
+public class UiHierarchy {
+
+    private static final Pattern LOCATOR = Pattern.compile("^By\\.(\\w+): (.*)$", Pattern.DOTALL);
+    private static final Pattern ANDROID_BOUNDS = Pattern.compile("\\[(-?\\d+),(-?\\d+)]\\[(-?\\d+),(-?\\d+)]");
+    private static final Pattern INDEXED_XPATH =
+            Pattern.compile("^//(\\*|[\\w.]+)(?:\\[@([\\w-]+)\\s*=\\s*(?:'([^']*)'|\"([^\"]*)\")])?$");
+    private static final String CLASS = "#class";
+
+    private final Document document;
+    private final Platform platform;
+    private final String source;
+    private Map<String, Map<String, List<Element>>> indexes;
+
+    UiHierarchy(Document document, Platform platform, String source) {
+        this.document = document;
+        this.platform = platform;
+        this.source = source;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the page source is not well formed XML
+     */
+    public static UiHierarchy parse(String pageSource, Platform platform) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setExpandEntityReferences(false);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            return new UiHierarchy(builder.parse(new InputSource(new StringReader(pageSource))), platform, pageSource);
+        } catch (ParserConfigurationException | SAXException | IOException exception) {
+            throw new IllegalArgumentException("Page source is not well formed XML", exception);
+        }
+    }
+
+    public Platform getPlatform() {
+        return platform;
+    }
+
+    /**
+     * @return the page source this hierarchy was parsed from
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return the elements found by the locator, or null if its strategy cannot be evaluated on the page source
+     */
+    public List<Element> find(By by) {
+        String xpath = toXPath(by, platform);
+        if (xpath == null) {
+            return null;
+        }
+        List<Element> indexed = findIndexed(by, xpath);
+        if (indexed != null) {
+            return indexed;
+        }
+        try {
+            NodeList nodes = (NodeList) XPathFactory.newInstance().newXPath()
+                    .evaluate(xpath, document, XPathConstants.NODESET);
+            List<Element> elements = new ArrayList<>(nodes.getLength());
+            for (int i = 0; i < nodes.getLength(); i++) {
+                if (nodes.item(i) instanceof Element) {
+                    elements.add((Element) nodes.item(i));
+                }
+            }
+            return elements;
+        } catch (XPathExpressionException exception) {
+            // e.g. XPath 2.0 functions, which Appium may support but the JDK does not
+            return null;
+        }
+    }
+
+    /**
+     * @return snapshots of the elements found by the locator, or null if its strategy cannot be evaluated on the page
+     * source
+     */
+    public List<ElementSnapshot> read(By by, String... attributes) {
+        List<Element> elements = find(by);
+        if (elements == null) {
+            return null;
+        }
+        List<ElementSnapshot> snapshots = new ArrayList<>(elements.size());
+        for (Element element : elements) {
+            snapshots.add(snapshot(element, attributes));
+        }
+        return snapshots;
+    }
+
+    /**
+     * @return the elements found through an index, or null if the locator is not a plain lookup of an indexed value
+     */
+    private List<Element> findIndexed(By by, String xpath) {
+        Matcher locator = LOCATOR.matcher(by.toString());
+        locator.matches();
+        String value = locator.group(2);
+        switch (locator.group(1)) {
+            case "id":
+                if (platform == Platform.IOS) {
+                    return lookup("name", value);
+                }
+                return lookup(value.contains(":") ? "resource-id" : "#id", value);
+            case "AccessibilityId":
+                return lookup(platform == Platform.IOS ? "name" : "content-desc", value);
+            case "name":
+                return lookup("name", value);
+            case "className":
+                return lookup(CLASS, value);
+            default:
+                break;
+        }
+
+        Matcher simple = INDEXED_XPATH.matcher(xpath);
+        if (!simple.matches()) {
+            return null;
+        }
+        String type = simple.group(1);
+        String attribute = simple.group(2);
+        if (attribute == null) {
+            return "*".equals(type) ? null : lookup(CLASS, type);
+        }
+        if (!indexedAttributes().contains(attribute)) {
+            return null;
+        }
+        List<Element> elements = lookup(attribute, simple.group(3) != null ? simple.group(3) : simple.group(4));
+        if ("*".equals(type)) {
+            return elements;
+        }
+        List<Element> typed = new ArrayList<>();
+        for (Element element : elements) {
+            if (element.getTagName().equals(type)) {
+                typed.add(element);
+            }
+        }
+        return typed;
+    }
+
+    private List<String> indexedAttributes() {
+        return platform == Platform.IOS
+                ? Arrays.asList("name", "label", "value")
+                : Arrays.asList("resource-id", "content-desc", "text");
+    }
+
+    private synchronized List<Element> lookup(String index, String value) {
+        if (indexes == null) {
+            indexes = new HashMap<>();
+            NodeList nodes = document.getElementsByTagName("*");
+            for (int i = 0; i < nodes.getLength(); i++) {
+                Element element = (Element) nodes.item(i);
+                index(CLASS, element.getTagName(), element);
+                for (String attribute : indexedAttributes()) {
+                    if (element.hasAttribute(attribute)) {
+                        index(attribute, element.getAttribute(attribute), element);
+                    }
+                }
+                String resourceId = element.getAttribute("resource-id");
+                int separator = resourceId.indexOf(":id/");
+                if (separator >= 0) {
+                    index("#id", resourceId.substring(separator + 4), element);
+                }
+            }
+        }
+        if (index.equals("#id")) {
+            // Like Appium, an id without package matches the id in any package, but a full resource-id too
+            List<Element> elements = new ArrayList<>(lookup("resource-id", value));
+            for (Element element : indexes.getOrDefault(index, Collections.emptyMap())
+                    .getOrDefault(value, Collections.emptyList())) {
+                if (!elements.contains(element)) {
+                    elements.add(element);
+                }
+            }
+            return elements;
+        }
+        return indexes.getOrDefault(index, Collections.emptyMap()).getOrDefault(value, Collections.emptyList());
+    }
+
+    private void index(String index, String value, Element element) {
+        indexes.computeIfAbsent(index, key -> new HashMap<>())
+                .computeIfAbsent(value, key -> new ArrayList<>())
+                .add(element);
+    }
+
+    ElementSnapshot snapshot(Element element, String... attributes) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String attribute : attributes) {
+            values.put(attribute, element.hasAttribute(attribute) ? element.getAttribute(attribute) : null);
+        }
+        return new ElementSnapshot(getText(element), values, getRect(element));
+    }
+
+    /**
+     * Reads the element under the attribute names that Appium's {@code getAttribute} takes, e.g. {@code resourceId}
+     * for the {@code resource-id} of the Android page source. Attributes the page source does not have are left out of
+     * the snapshot, so that they can be read from the session instead.
+     */
+    ElementSnapshot snapshotForAppium(Element element, String... attributes) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String attribute : attributes) {
+            String pageSourceAttribute = pageSourceAttribute(attribute);
+            if (element.hasAttribute(pageSourceAttribute)) {
+                values.put(attribute, element.getAttribute(pageSourceAttribute));
+            }
+        }
+        return new ElementSnapshot(getText(element), values, getRect(element));
+    }
+
+    /**
+     * @return the name of the page source attribute that Appium reads for the attribute name
+     */
+    private String pageSourceAttribute(String name) {
+        if (platform == Platform.IOS) {
+            return name;
+        }
+        switch (name) {
+            case "name":
+            case "contentDescription":
+                return "content-desc";
+            case "resourceId":
+                return "resource-id";
+            case "className":
+                return "class";
+            default:
+                return name;
+        }
+    }
+
+    /**
+     * @return the text Appium reports for the element: the text on Android, the value or else the label on iOS
+     */
+    String getText(Element element) {
+        if (platform == Platform.IOS) {
+            String value = element.getAttribute("value");
+            return value.isEmpty() ? element.getAttribute("label") : value;
+        }
+        return element.getAttribute("text");
+    }
+
+    Rectangle getRect(Element element) {
+        try {
+            if (platform == Platform.IOS) {
+                return new Rectangle(
+                        Integer.parseInt(element.getAttribute("x")),
+                        Integer.parseInt(element.getAttribute("y")),
+                        Integer.parseInt(element.getAttribute("height")),
+                        Integer.parseInt(element.getAttribute("width")));
+            }
+            Matcher bounds = ANDROID_BOUNDS.matcher(element.getAttribute("bounds"));
+            if (!bounds.matches()) {
+                return null;
+            }
+            int left = Integer.parseInt(bounds.group(1));
+            int top = Integer.parseInt(bounds.group(2));
+            return new Rectangle(left, top,
+                    Integer.parseInt(bounds.group(4)) - top, Integer.parseInt(bounds.group(3)) - left);
+        } catch (NumberFormatException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * @return an XPath over the page source that finds the same elements as the locator, or null if there is none
+     */
+    static String toXPath(By by, Platform platform) {
+        Matcher locator = LOCATOR.matcher(by.toString());
+        if (!locator.matches()) {
+            return null;
+        }
+        String value = locator.group(2);
+        switch (locator.group(1)) {
+            case "xpath":
+                return value;
+            case "className":
+                return value.matches("[\\w.]+") ? "//" + value : null;
+            case "AccessibilityId":
+                return "//*[@" + (platform == Platform.IOS ? "name" : "content-desc") + "=" + literal(value) + "]";
+            case "name":
+                return platform == Platform.IOS ? "//*[@name=" + literal(value) + "]" : null;
+            case "id":
+                if (platform == Platform.IOS) {
+                    return "//*[@name=" + literal(value) + "]";
+                }
+                if (value.contains(":")) {
+                    return "//*[@resource-id=" + literal(value) + "]";
+                }
+                // Like Appium, an id without package matches the id in any package
+                return "//*[@resource-id=" + literal(value)
+                        + " or substring-after(@resource-id, ':id/')=" + literal(value) + "]";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return the value as an XPath string literal
+     */
+    static String literal(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        if (!value.contains("\"")) {
+            return "\"" + value + "\"";
+        }
+        StringBuilder concat = new StringBuilder("concat(");
+        String[] parts = value.split("'", -1);
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                concat.append(", \"'\", ");
+            }
+            concat.append('\'').append(parts[i]).append('\'');
+        }
+        return concat.append(')').toString();
+    }
+}
@@ -0,0 +1,238 @@
+package com.joss.conductor.mobile;
+
+import com.joss.conductor.mobile.util.ArtifactUtil;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.pmw.tinylog.Logger;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Waits for conditions on a driver, polling as told by a {@link PollingPolicy}, and keeps metrics per wait.
+ * <p>
+ * Waits are told apart by a key, the locator or the description of the condition. For every key the amount of waits,
+ * timeouts and polls, the total and maximum time waited and the usual time to succeed are kept. The latter is what
+ * {@link PollingPolicy#adaptive(long, long)} polls by. At most {@value #MAX_KEYS} keys are kept, so that conditions
+ * on elements, whose descriptions differ per session, cannot grow the metrics without bounds.
+ * <p>
+ * Conditions are evaluated on the waiting thread, because they use the driver and the state of the {@link Locomotive}
+ * of that thread.
+ */
+public class WaitEngine {
+
+    private static final WaitEngine INSTANCE = new WaitEngine(Clock.systemUTC(), Sleeper.SYSTEM_SLEEPER);
+    private static final int MAX_KEYS = 4096;
+    private static final int LOGGED_WAITS = 10;
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private final Sleeper sleeper;
+
+    WaitEngine(Clock clock, Sleeper sleeper) {
+        this.clock = clock;
+        this.sleeper = sleeper;
+    }
+
+    public static WaitEngine getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Evaluates the condition until it returns neither null nor false. Like {@code WebDriverWait},
+     * {@link NotFoundException}s thrown by the condition count as the condition not being met.
+     *
+     * @param key identifies the wait in the metrics and the timeout message, e.g. the locator waited for
+     * @return the last value of the condition
+     * @throws TimeoutException if the condition was not met within the timeout
+     */
+    public <V> V until(WebDriver driver, Function<? super WebDriver, V> condition, long timeoutMillis,
+                       PollingPolicy policy, String key) {
+        Stats wait = stats(key);
+        long expected = wait == null ? PollingPolicy.UNKNOWN : wait.expectedMillis();
+        long start = clock.millis();
+        NotFoundException lastException = null;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                V value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    record(wait, clock.millis() - start, attempt, false);
+                    return value;
+                }
+            } catch (NotFoundException exception) {
+                lastException = exception;
+            }
+
+            long elapsed = clock.millis() - start;
+            if (elapsed >= timeoutMillis) {
+                record(wait, elapsed, attempt, true);
+                throw new TimeoutException(String.format(
+                        "Expected condition failed: waiting for %s (tried for %d ms polling %s)",
+                        key, timeoutMillis, policy), lastException);
+            }
+            // The last poll happens at the timeout rather than after it
+            long delay = Math.min(policy.nextDelay(attempt, elapsed, expected), timeoutMillis - elapsed);
+            try {
+                sleeper.sleep(Duration.ofMillis(Math.max(0, delay)));
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException(exception);
+            }
+        }
+    }
+
+    /**
+     * @return the metrics of every wait so far, by key
+     */
+    public Map<String, Metrics> getMetrics() {
+        Map<String, Metrics> metrics = new LinkedHashMap<>();
+        stats.forEach((key, wait) -> metrics.put(key, wait.metrics()));
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Writes the waits so far to {@code target/test-artifacts/wait-metrics.jsonl}, one key per line starting with the
+     * one that took the most time in total, and logs the longest ones.
+     */
+    public void write() {
+        write(Paths.get(ArtifactUtil.WORKING_DIR, ArtifactUtil.DIR, "wait-metrics.jsonl"));
+    }
+
+    synchronized void write(Path file) {
+        List<Map.Entry<String, Metrics>> ranked = new ArrayList<>(getMetrics().entrySet());
+        if (ranked.isEmpty()) {
+            return;
+        }
+        ranked.sort((a, b) -> Long.compare(b.getValue().getTotalMillis(), a.getValue().getTotalMillis()));
+
+        ArtifactUtil.writeJsonLines(file, ranked, entry -> toJson(entry.getKey(), entry.getValue()), false);
+        String summary = ArtifactUtil.summarize(ranked, LOGGED_WAITS, entry -> {
+            Metrics wait = entry.getValue();
+            return String.format("%8d ms total, %5d waits, %4d timeouts, %6d polls  %s",
+                    wait.getTotalMillis(), wait.getWaits(), wait.getTimeouts(), wait.getPolls(), entry.getKey());
+        });
+        Logger.info("Longest of {} wait(s), see {}:{}", ranked.size(), file, summary);
+    }
+
+    static Map<String, ?> toJson(String key, Metrics wait) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("wait", key);
+        line.put("waits", wait.getWaits());
+        line.put("timeouts", wait.getTimeouts());
+        line.put("polls", wait.getPolls());
+        line.put("totalMillis", wait.getTotalMillis());
+        line.put("maxMillis", wait.getMaxMillis());
+        line.put("expectedMillis", wait.getExpectedMillis());
+        return line;
+    }
+
+    private Stats stats(String key) {
+        Stats wait = stats.get(key);
+        if (wait == null && stats.size() < MAX_KEYS) {
+            wait = stats.computeIfAbsent(key, k -> new Stats());
+        }
+        return wait;
+    }
+
+    private static void record(Stats wait, long millis, int polls, boolean timedOut) {
+        if (wait != null) {
+            wait.add(millis, polls, timedOut);
+        }
+    }
+
+    /**
+     * The metrics of the waits with the same key.
+     */
+    public static final class Metrics {
+        private final long waits;
+        private final long timeouts;
+        private final long polls;
+        private final long totalMillis;
+        private final long maxMillis;
+        private final long expectedMillis;
+
+        Metrics(long waits, long timeouts, long polls, long totalMillis, long maxMillis, long expectedMillis) {
+            this.waits = waits;
+            this.timeouts = timeouts;
+            this.polls = polls;
+            this.totalMillis = totalMillis;
+            this.maxMillis = maxMillis;
+            this.expectedMillis = expectedMillis;
+        }
+
+        public long getWaits() {
+            return waits;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        /**
+         * @return the amount of evaluations of the condition
+         */
+        public long getPolls() {
+            return polls;
+        }
+
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+
+        public long getMaxMillis() {
+            return maxMillis;
+        }
+
+        /**
+         * @return the usual time to succeed, a moving average over the waits that did, or {@link PollingPolicy#UNKNOWN}
+         */
+        public long getExpectedMillis() {
+            return expectedMillis;
+        }
+    }
+
+    private static final class Stats {
+        private long waits;
+        private long timeouts;
+        private long polls;
+        private long totalMillis;
+        private long maxMillis;
+        private double expectedMillis = PollingPolicy.UNKNOWN;
+
+        synchronized void add(long millis, int polls, boolean timedOut) {
+            waits++;
+            this.polls += polls;
+            totalMillis += millis;
+            maxMillis = Math.max(maxMillis, millis);
+            if (timedOut) {
+                timeouts++;
+            } else if (expectedMillis == PollingPolicy.UNKNOWN) {
+                expectedMillis = millis;
+            } else {
+                // Weighs recent waits more, so the expectation follows the app when it gets faster or slower
+                expectedMillis = 0.7 * expectedMillis + 0.3 * millis;
+            }
+        }
+
+        synchronized long expectedMillis() {
+            return Math.round(expectedMillis);
+        }
+
+        synchronized Metrics metrics() {
+            return new Metrics(waits, timeouts, polls, totalMillis, maxMillis, expectedMillis());
+        }
+    }
+}
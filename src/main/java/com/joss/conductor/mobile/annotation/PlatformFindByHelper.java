@@ -1,21 +1,81 @@
 package com.joss.conductor.mobile.annotation;
 
+import com.joss.conductor.mobile.LocatorProfiler;
 import com.joss.conductor.mobile.Platform;
 import com.joss.conductor.mobile.exception.PlatformFindByException;
 import org.openqa.selenium.By;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Created on 3/14/18.
  */
 public final class PlatformFindByHelper {
 
+    /**
+     * Suffix of the binder classes generated by the conductor-mobile-processor annotation processor.
+     */
+    public static final String BINDER_SUFFIX = "_Locators";
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, By.class);
+    private static final MethodType BINDER_TYPE = MethodType.methodType(void.class, Object.class, Platform.class);
+
+    /**
+     * The annotations of a page class are only read the first time a page of that class is initialized. They are read
+     * for classes with a generated binder as well, so that their fields are registered with the
+     * {@link LocatorProfiler}.
+     */
+    private static final ClassValue<Binder> BINDERS = new ClassValue<Binder>() {
+        @Override
+        protected Binder computeValue(Class<?> type) {
+            Map<Platform, List<Locator>> plan = buildPlan(type);
+            Binder generated = findGeneratedBinder(type);
+            return generated != null ? generated : new ReflectiveBinder(plan);
+        }
+    };
+
     public static void initIds(Object page, Platform platform) {
+        try {
+            BINDERS.get(page.getClass()).bind(page, platform);
+        } catch (PlatformFindByException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new PlatformFindByException(e.getMessage());
+        }
+    }
 
+    /**
+     * @return the {@code <Page>_Locators} binder generated for exactly this class, or null if it was compiled
+     * without the annotation processor
+     */
+    private static Binder findGeneratedBinder(Class<?> type) {
+        String name = type.getName().replace('$', '_') + BINDER_SUFFIX;
         try {
-            Class current = page.getClass();
+            Class<?> binder = Class.forName(name, true, type.getClassLoader());
+            MethodHandle bind = MethodHandles.publicLookup()
+                    .findStatic(binder, "bind", MethodType.methodType(void.class, type, Platform.class))
+                    .asType(BINDER_TYPE);
+            return bind::invokeExact;
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static Map<Platform, List<Locator>> buildPlan(Class<?> type) {
+        Map<Platform, List<Locator>> plan = new EnumMap<>(Platform.class);
+        try {
+            Class current = type;
             do {
                 for (Field field : current.getDeclaredFields()) {
                     for (Annotation annotation : field.getDeclaredAnnotations()) {
@@ -26,35 +86,111 @@ public final class PlatformFindByHelper {
                             }
                         }
 
-                        if (annotation instanceof AndroidFindBy && platform.equals(Platform.ANDROID)) {
+                        if (annotation instanceof AndroidFindBy) {
                             AndroidFindBy androidFindByAnnotation = (AndroidFindBy) annotation;
+                            By by = null;
                             if (!androidFindByAnnotation.value().isEmpty()) {
-                                field.set(page, By.id(androidFindByAnnotation.value()));
+                                by = By.id(androidFindByAnnotation.value());
                             } else if (!androidFindByAnnotation.xpath().isEmpty()) {
-                                field.set(page, By.xpath(androidFindByAnnotation.xpath()));
+                                by = By.xpath(androidFindByAnnotation.xpath());
                             } else if (!androidFindByAnnotation.className().isEmpty()) {
-                                field.set(page, By.className(androidFindByAnnotation.className()));
+                                by = By.className(androidFindByAnnotation.className());
                             }
+                            addBinding(plan, Platform.ANDROID, field, by);
                         }
 
-                        if (annotation instanceof IOSFindBy && platform.equals(Platform.IOS)) {
+                        if (annotation instanceof IOSFindBy) {
                             IOSFindBy iOSFindByAnnotation = (IOSFindBy) annotation;
+                            By by = null;
                             if (!iOSFindByAnnotation.value().isEmpty()) {
-                                field.set(page, By.name(iOSFindByAnnotation.value()));
+                                by = By.name(iOSFindByAnnotation.value());
                             } else if (!iOSFindByAnnotation.xpath().isEmpty()) {
-                                field.set(page, By.xpath(iOSFindByAnnotation.xpath()));
+                                by = By.xpath(iOSFindByAnnotation.xpath());
                             } else if (!iOSFindByAnnotation.className().isEmpty()) {
-                                field.set(page, By.className(iOSFindByAnnotation.className()));
+                                by = By.className(iOSFindByAnnotation.className());
                             }
+                            addBinding(plan, Platform.IOS, field, by);
                         }
                     }
                 }
                 current = current.getSuperclass();
             } while (current != null);
+        } catch (PlatformFindByException e) {
+            throw e;
         } catch (Exception e) {
             throw new PlatformFindByException(e.getMessage());
         }
+        return plan;
+    }
 
+    private static void addBinding(Map<Platform, List<Locator>> plan, Platform platform, Field field, By by) {
+        if (by == null) {
+            return;
+        }
+        plan.computeIfAbsent(platform, key -> new ArrayList<>()).add(new Locator(field, by));
+        LocatorProfiler.getInstance()
+                .registerField(by, field.getDeclaringClass().getSimpleName() + "." + field.getName());
+    }
+
+    /**
+     * Setters are only built for the platform a page is initialized for, so that fields annotated for another
+     * platform do not have to be accessible.
+     */
+    private static List<Binding> buildBindings(List<Locator> locators) throws IllegalAccessException {
+        List<Binding> bindings = new ArrayList<>(locators.size());
+        for (Locator locator : locators) {
+            MethodHandle setter = MethodHandles.lookup().unreflectSetter(locator.field);
+            if (Modifier.isStatic(locator.field.getModifiers())) {
+                // Static fields take no instance, drop the page argument
+                setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+            bindings.add(new Binding(setter.asType(SETTER_TYPE), locator.by));
+        }
+        return bindings;
+    }
+
+    private interface Binder {
+        void bind(Object page, Platform platform) throws Throwable;
+    }
+
+    private static final class ReflectiveBinder implements Binder {
+        private final Map<Platform, List<Locator>> plan;
+        private final Map<Platform, List<Binding>> bindings = new ConcurrentHashMap<>();
+
+        ReflectiveBinder(Map<Platform, List<Locator>> plan) {
+            this.plan = plan;
+        }
+
+        @Override
+        public void bind(Object page, Platform platform) throws Throwable {
+            List<Binding> setters = bindings.get(platform);
+            if (setters == null) {
+                setters = buildBindings(plan.getOrDefault(platform, Collections.emptyList()));
+                bindings.put(platform, setters);
+            }
+            for (Binding binding : setters) {
+                binding.setter.invokeExact(page, binding.by);
+            }
+        }
     }
-}
 
+    private static final class Locator {
+        private final Field field;
+        private final By by;
+
+        Locator(Field field, By by) {
+            this.field = field;
+            this.by = by;
+        }
+    }
+
+    private static final class Binding {
+        private final MethodHandle setter;
+        private final By by;
+
+        Binding(MethodHandle setter, By by) {
+            this.setter = setter;
+            this.by = by;
+        }
+    }
+}
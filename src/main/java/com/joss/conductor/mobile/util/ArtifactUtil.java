@@ -1,8 +1,21 @@
 package com.joss.conductor.mobile.util;
 
+import org.openqa.selenium.json.Json;
+import org.pmw.tinylog.Logger;
+
 import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 public class ArtifactUtil {
 
@@ -37,6 +50,52 @@ public class ArtifactUtil {
                 + (extension == null ? "" : extension);
     }
 
+    /**
+     * Writes the entries to the file, one JSON object per line, creating the directories of the file if needed.
+     * Failures are logged rather than thrown, so that reports never fail the suite.
+     *
+     * @param append true to add the lines to the file, false to replace what it contains
+     * @return true if the file was written
+     */
+    public static <T> boolean writeJsonLines(Path file, Collection<T> entries, Function<T, Map<String, ?>> toJson,
+                                             boolean append) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (T entry : entries) {
+                    writer.write(toJsonLine(toJson.apply(entry)));
+                    writer.write('\n');
+                }
+            }
+            return true;
+        } catch (IOException exception) {
+            Logger.warn(exception, "Could not write {}", file);
+            return false;
+        }
+    }
+
+    /**
+     * @return the object as JSON on a single line
+     */
+    public static String toJsonLine(Map<String, ?> line) {
+        StringBuilder json = new StringBuilder();
+        new Json().newOutput(json).setPrettyPrint(false).write(line);
+        return json.toString();
+    }
+
+    /**
+     * @return a line per entry, for at most the first {@code limit} entries, to log below a headline
+     */
+    public static <T> String summarize(List<T> ranked, int limit, Function<T, String> line) {
+        StringBuilder summary = new StringBuilder();
+        for (T entry : ranked.subList(0, Math.min(limit, ranked.size()))) {
+            summary.append(String.format("%n  ")).append(line.apply(entry));
+        }
+        return summary.toString();
+    }
+
     private static String getTimestamp() {
         return SDF.format(new Timestamp(System.currentTimeMillis()));
     }
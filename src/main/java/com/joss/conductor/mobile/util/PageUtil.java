@@ -1,8 +1,12 @@
 package com.joss.conductor.mobile.util;
 
 import com.joss.conductor.mobile.ConductorConfig;
+import com.joss.conductor.mobile.Platform;
 import org.openqa.selenium.By;
-import org.pmw.tinylog.Logger;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Created on 9/2/16.
@@ -11,18 +15,73 @@ public class PageUtil {
 
     private static final String ANDROID_APP_PACKAGE_NAME_ID = "%s:id/%s";
     private static final String IOS_XPATH_ACCESSIBILITY_IDENTIFIER = "//*[@name='%s']";
+    private static final int MAX_CACHED_LOCATORS = 4096;
+
+    /**
+     * Locators are immutable, so every lookup of the same identifier shares one instance. The key holds everything the
+     * locator is built from, so a configuration change simply leads to other entries.
+     */
+    private static final Map<LocatorKey, By> LOCATORS = new ConcurrentHashMap<>();
 
     public static By buildBy(ConductorConfig config, String identifier) {
-        switch (config.getPlatformName()) {
+        LocatorKey key = new LocatorKey(config.getPlatformName(), config.getAppPackageName(), identifier);
+        By by = LOCATORS.get(key);
+        if (by == null) {
+            by = createBy(key);
+            if (LOCATORS.size() >= MAX_CACHED_LOCATORS) {
+                // Only apps with generated identifiers get here; start over rather than track usage
+                LOCATORS.clear();
+            }
+            By existing = LOCATORS.putIfAbsent(key, by);
+            if (existing != null) {
+                by = existing;
+            }
+        }
+        return by;
+    }
+
+    private static By createBy(LocatorKey key) {
+        switch (key.platform) {
             case ANDROID:
-                return By.id(String.format(ANDROID_APP_PACKAGE_NAME_ID, config.getAppPackageName(), identifier));
+                return By.id(String.format(ANDROID_APP_PACKAGE_NAME_ID, key.appPackageName, key.identifier));
             case IOS:
-                return By.xpath(String.format(IOS_XPATH_ACCESSIBILITY_IDENTIFIER, identifier));
+                return By.xpath(String.format(IOS_XPATH_ACCESSIBILITY_IDENTIFIER, key.identifier));
             default:
-                Logger.error("Unknown platform: " + config.getPlatformName());
-                System.exit(1);
+                throw new IllegalArgumentException("Unknown platform: " + key.platform);
         }
-        return null;
     }
 
+    private static final class LocatorKey {
+        private final Platform platform;
+        private final String appPackageName;
+        private final String identifier;
+        private final int hash;
+
+        LocatorKey(Platform platform, String appPackageName, String identifier) {
+            this.platform = platform;
+            this.appPackageName = appPackageName;
+            this.identifier = identifier;
+            this.hash = 31 * (31 * Objects.hashCode(platform) + Objects.hashCode(appPackageName))
+                    + Objects.hashCode(identifier);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LocatorKey)) {
+                return false;
+            }
+            LocatorKey other = (LocatorKey) o;
+            return platform == other.platform
+                    && Objects.equals(appPackageName, other.appPackageName)
+                    && Objects.equals(identifier, other.identifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
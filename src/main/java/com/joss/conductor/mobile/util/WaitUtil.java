@@ -1,5 +1,6 @@
 package com.joss.conductor.mobile.util;
 
+import com.joss.conductor.mobile.Locomotive;
 import org.assertj.core.api.Assertions;
 import org.pmw.tinylog.Logger;
 
@@ -8,6 +9,10 @@ import org.pmw.tinylog.Logger;
  */
 public class WaitUtil {
 
+    /**
+     * Sleeps for a fixed time. To wait for the screen to settle, e.g. after navigating, prefer
+     * {@link #waitForStableUi(Locomotive, String)}, which returns as soon as it did.
+     */
     public static void wait(int millis, String message) {
         try {
             Logger.info(message);
@@ -16,4 +21,15 @@ public class WaitUtil {
             Assertions.fail(e.getMessage(), e);
         }
     }
+
+    /**
+     * Waits for the screen to stop changing, at most for {@code stableUiTimeout}.
+     *
+     * @return true if the screen became stable, false if it was still changing at the timeout
+     * @see Locomotive#waitForStableUi()
+     */
+    public static boolean waitForStableUi(Locomotive locomotive, String message) {
+        Logger.info(message);
+        return locomotive.waitForStableUi();
+    }
 }
@@ -0,0 +1,135 @@
+package com.joss.conductor.mobile;
+
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.WebDriverException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+public class AppArtifactCacheTest {
+
+    private ConductorConfig config;
+    private Path source;
+    private Path cacheDir;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        source = Files.createTempDirectory("app-source");
+        cacheDir = Files.createTempDirectory("app-cache");
+        config = new ConductorConfig("/test_yaml/android_full.yaml");
+        config.setAppCache(true);
+        config.setAppCacheDir(cacheDir.toString());
+        config.setHub(null);
+    }
+
+    @Test
+    public void app_is_stored_by_content_hash() throws IOException {
+        String url = app("android.apk", "apk-content");
+
+        String path = new AppArtifactCache().resolve(config, url);
+
+        Assertions.assertThat(Paths.get(path).getFileName().toString()).isEqualTo("android.apk");
+        Assertions.assertThat(Paths.get(path).getParent().getFileName().toString())
+                .isEqualTo(AppArtifactCache.hash(source.resolve("android.apk")));
+        Assertions.assertThat(new String(Files.readAllBytes(Paths.get(path)), "UTF-8")).isEqualTo("apk-content");
+    }
+
+    @Test
+    public void app_is_downloaded_once() throws IOException {
+        String url = app("android.apk", "apk-content");
+        AppArtifactCache cache = new AppArtifactCache();
+        String first = cache.resolve(config, url);
+
+        Files.delete(source.resolve("android.apk"));
+
+        Assertions.assertThat(cache.resolve(config, url)).isEqualTo(first);
+        // a later run finds the copy on disk as well
+        Assertions.assertThat(new AppArtifactCache().resolve(config, url)).isEqualTo(first);
+    }
+
+    @Test
+    public void corrupt_copy_is_downloaded_again() throws IOException {
+        String url = app("android.apk", "apk-content");
+        String path = new AppArtifactCache().resolve(config, url);
+        Files.write(Paths.get(path), "tampered".getBytes("UTF-8"));
+
+        String again = new AppArtifactCache().resolve(config, url);
+
+        Assertions.assertThat(new String(Files.readAllBytes(Paths.get(again)), "UTF-8")).isEqualTo("apk-content");
+    }
+
+    @Test
+    public void checksum_mismatch_fails() throws IOException {
+        String url = app("android.apk", "apk-content");
+        config.setAppChecksum("0000");
+
+        Assertions.assertThatThrownBy(() -> new AppArtifactCache().resolve(config, url))
+                .isInstanceOf(WebDriverException.class)
+                .hasMessageContaining("but 0000 was expected");
+    }
+
+    @Test
+    public void least_recently_used_apps_are_evicted() throws IOException {
+        config.setAppCacheMaxSize(1);
+        byte[] large = new byte[600 * 1024];
+
+        large[0] = 1;
+        // resolved by an earlier run
+        Path old = Paths.get(new AppArtifactCache().resolve(config, app("old.apk", large)));
+        Files.setLastModifiedTime(old.getParent(), FileTime.fromMillis(0));
+        AppArtifactCache cache = new AppArtifactCache();
+        large[0] = 2;
+        Path recent = Paths.get(cache.resolve(config, app("recent.apk", large)));
+
+        Assertions.assertThat(old).doesNotExist();
+        Assertions.assertThat(recent).exists();
+        // the evicted app is downloaded again rather than resolved to the deleted file
+        large[0] = 1;
+        Assertions.assertThat(Paths.get(cache.resolve(config, app("old.apk", large)))).exists();
+    }
+
+    @Test
+    public void apps_resolved_in_this_run_are_not_evicted() throws IOException {
+        config.setAppCacheMaxSize(1);
+        byte[] large = new byte[600 * 1024];
+        AppArtifactCache cache = new AppArtifactCache();
+
+        large[0] = 1;
+        Path first = Paths.get(cache.resolve(config, app("first.apk", large)));
+        Files.setLastModifiedTime(first.getParent(), FileTime.fromMillis(0));
+        large[0] = 2;
+        Path second = Paths.get(cache.resolve(config, app("second.apk", large)));
+
+        // a session may still be installing the first app
+        Assertions.assertThat(first).exists();
+        Assertions.assertThat(second).exists();
+    }
+
+    @Test
+    public void cache_is_only_used_with_local_appium() {
+        Assertions.assertThat(AppArtifactCache.appliesTo(config)).isTrue();
+
+        config.setHub("http://localhost:4723/wd/hub");
+        Assertions.assertThat(AppArtifactCache.appliesTo(config)).isTrue();
+
+        config.setHub("http://grid.example.com:4444/wd/hub");
+        Assertions.assertThat(AppArtifactCache.appliesTo(config)).isFalse();
+
+        config.setAppCache(false);
+        config.setHub(null);
+        Assertions.assertThat(AppArtifactCache.appliesTo(config)).isFalse();
+    }
+
+    private String app(String name, String content) throws IOException {
+        return app(name, content.getBytes("UTF-8"));
+    }
+
+    private String app(String name, byte[] content) throws IOException {
+        return Files.write(source.resolve(name), content).toUri().toString();
+    }
+}
@@ -6,9 +6,15 @@ import org.assertj.core.api.Assertions;
 import org.junit.Assert;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Created on 1/24/17.
@@ -162,4 +168,25 @@ public class ArtifactUtilTest {
         Assertions.assertThat(Paths.get(thirdPath).getFileName().toString())
                 .doesNotContain("null");
     }
+
+    @Test
+    public void json_lines_replace_or_extend_the_file() throws IOException {
+        Path file = Files.createTempDirectory("artifacts").resolve("reports").resolve("report.jsonl");
+        Function<String, Map<String, ?>> toJson = name -> Collections.singletonMap("name", name);
+
+        Assertions.assertThat(ArtifactUtil.writeJsonLines(file, Arrays.asList("a", "b"), toJson, false)).isTrue();
+        ArtifactUtil.writeJsonLines(file, Collections.singletonList("c"), toJson, true);
+        Assertions.assertThat(Files.readAllLines(file))
+                .containsExactly("{\"name\": \"a\"}", "{\"name\": \"b\"}", "{\"name\": \"c\"}");
+
+        ArtifactUtil.writeJsonLines(file, Collections.singletonList("d"), toJson, false);
+        Assertions.assertThat(Files.readAllLines(file)).containsExactly("{\"name\": \"d\"}");
+    }
+
+    @Test
+    public void summary_lists_the_first_entries() {
+        String summary = ArtifactUtil.summarize(Arrays.asList("a", "b", "c"), 2, entry -> "entry " + entry);
+
+        Assertions.assertThat(summary).isEqualTo(String.format("%n  entry a%n  entry b"));
+    }
 }
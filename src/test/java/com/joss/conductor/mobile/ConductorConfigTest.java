@@ -1,11 +1,13 @@
 package com.joss.conductor.mobile;
 
 import org.assertj.core.api.Assertions;
+import org.openqa.selenium.remote.DesiredCapabilities;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.Test;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 public class ConductorConfigTest {
 
@@ -379,4 +381,82 @@ public class ConductorConfigTest {
         Assertions.assertThat(config.getStartSessionRetries()).isEqualTo(6);
     }
 
+    @Test
+    public void capability_snapshot_is_built_once_per_version() {
+        ConductorConfig config = new ConductorConfig("/test_yaml/android_full.yaml");
+        int[] builds = {0};
+        Function<ConductorConfig, DesiredCapabilities> builder = c -> {
+            builds[0]++;
+            DesiredCapabilities capabilities = new DesiredCapabilities();
+            capabilities.setCapability("udid", c.getUdid());
+            return capabilities;
+        };
+
+        CapabilitySnapshot first = config.getCapabilitySnapshot(builder);
+        Assertions.assertThat(config.getCapabilitySnapshot(builder)).isSameAs(first);
+        Assertions.assertThat(builds[0]).isEqualTo(1);
+
+        config.setUdid("changed");
+        Assertions.assertThat(config.getCapabilitySnapshot(builder).asMap()).containsEntry("udid", "changed");
+        Assertions.assertThat(builds[0]).isEqualTo(2);
+
+        config.getCustomCapabilities().put("extra", true);
+        config.getCapabilitySnapshot(builder);
+        Assertions.assertThat(builds[0]).isEqualTo(3);
+    }
+
+    @Test
+    public void capability_snapshot_is_kept_per_builder() {
+        ConductorConfig config = new ConductorConfig("/test_yaml/android_full.yaml");
+        CapabilitySnapshot android = config.getCapabilitySnapshot("android", c -> {
+            DesiredCapabilities capabilities = new DesiredCapabilities();
+            capabilities.setCapability("builder", "android");
+            return capabilities;
+        });
+        CapabilitySnapshot custom = config.getCapabilitySnapshot("custom", c -> {
+            DesiredCapabilities capabilities = new DesiredCapabilities();
+            capabilities.setCapability("builder", "custom");
+            return capabilities;
+        });
+
+        Assertions.assertThat(android.asMap()).containsEntry("builder", "android");
+        Assertions.assertThat(custom.asMap()).containsEntry("builder", "custom");
+        Assertions.assertThat(config.getCapabilitySnapshot("android", c -> new DesiredCapabilities()))
+                .isSameAs(android);
+    }
+
+    @Test
+    public void capability_snapshot_copies_are_independent() {
+        ConductorConfig config = new ConductorConfig("/test_yaml/android_full.yaml");
+        CapabilitySnapshot snapshot = config.getCapabilitySnapshot(c -> new DesiredCapabilities());
+
+        snapshot.toDesiredCapabilities().setCapability("udid", "mine");
+
+        Assertions.assertThat(snapshot.asMap()).doesNotContainKey("udid");
+        Assertions.assertThatThrownBy(() -> snapshot.asMap().put("udid", "mine"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void full_app_path_is_resolved_once_per_version() {
+        ConductorConfig config = new ConductorConfig("/test_yaml/android_full.yaml");
+        config.setAppFile("apps/android.apk");
+        String path = config.getFullAppPath();
+
+        Assertions.assertThat(config.getFullAppPath()).isSameAs(path);
+
+        config.setAppFile("apps/other.apk");
+        Assertions.assertThat(config.getFullAppPath()).endsWith("other.apk");
+    }
+
+    @Test
+    public void unknown_wait_polling_is_rejected_when_set() {
+        ConductorConfig config = new ConductorConfig();
+        config.setWaitPolling("Exponential");
+
+        Assertions.assertThatThrownBy(() -> config.setWaitPolling("exponentail"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exponentail");
+        Assertions.assertThat(config.getWaitPolling()).isEqualTo("Exponential");
+    }
 }
@@ -0,0 +1,112 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.remote.AndroidMobileCapabilityType;
+import io.appium.java_client.remote.IOSMobileCapabilityType;
+import io.appium.java_client.remote.MobileCapabilityType;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+public class DeviceAllocatorTest {
+
+    @Test
+    public void devices_are_handed_out_exclusively() {
+        DeviceAllocator allocator = new DeviceAllocator(Arrays.asList("a", "b"));
+
+        DeviceAllocator.Device first = allocator.acquire(0, TimeUnit.MILLISECONDS);
+        DeviceAllocator.Device second = allocator.acquire(0, TimeUnit.MILLISECONDS);
+
+        Assertions.assertThat(first.getUdid()).isNotEqualTo(second.getUdid());
+        Assertions.assertThat(first.getSystemPort()).isNotEqualTo(second.getSystemPort());
+        Assertions.assertThatThrownBy(() -> allocator.acquire(20, TimeUnit.MILLISECONDS))
+                .isInstanceOf(WebDriverException.class)
+                .hasMessageContaining("None of the 2 devices");
+
+        allocator.release(first);
+        Assertions.assertThat(allocator.acquire(0, TimeUnit.MILLISECONDS)).isSameAs(first);
+    }
+
+    @Test
+    public void parallel_threads_never_share_a_device() throws Exception {
+        DeviceAllocator allocator = new DeviceAllocator(Arrays.asList("a", "b", "c"));
+        Set<String> inUse = ConcurrentHashMap.newKeySet();
+        AtomicInteger collisions = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] futures = new Future<?>[200];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> {
+                    DeviceAllocator.Device device = allocator.acquire(10, TimeUnit.SECONDS);
+                    if (!inUse.add(device.getUdid())) {
+                        collisions.incrementAndGet();
+                    }
+                    Thread.yield();
+                    inUse.remove(device.getUdid());
+                    allocator.release(device);
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertThat(collisions.get()).isZero();
+    }
+
+    @Test
+    public void ports_are_applied_per_platform() {
+        DeviceAllocator.Device device = new DeviceAllocator(Arrays.asList("a", "b"))
+                .acquire(0, TimeUnit.MILLISECONDS);
+
+        DesiredCapabilities android = new DesiredCapabilities();
+        device.applyTo(android, Platform.ANDROID);
+        Assertions.assertThat(android.getCapability(MobileCapabilityType.UDID)).isEqualTo("a");
+        Assertions.assertThat(android.getCapability(AndroidMobileCapabilityType.SYSTEM_PORT)).isEqualTo(8200);
+        Assertions.assertThat(android.getCapability(AndroidMobileCapabilityType.CHROMEDRIVER_PORT)).isEqualTo(9515);
+        Assertions.assertThat(android.getCapability("mjpegServerPort")).isEqualTo(7810);
+        Assertions.assertThat(android.getCapability(IOSMobileCapabilityType.WDA_LOCAL_PORT)).isNull();
+
+        DesiredCapabilities ios = new DesiredCapabilities();
+        device.applyTo(ios, Platform.IOS);
+        Assertions.assertThat(ios.getCapability(IOSMobileCapabilityType.WDA_LOCAL_PORT)).isEqualTo(8100);
+        Assertions.assertThat(ios.getCapability(AndroidMobileCapabilityType.SYSTEM_PORT)).isNull();
+    }
+
+    @Test
+    public void adb_output_is_parsed() {
+        Assertions.assertThat(DeviceAllocator.parseAdbDevices(Stream.of(
+                "List of devices attached",
+                "emulator-5554\tdevice",
+                "0123456789ABCDEF\toffline",
+                "R58M12345\tunauthorized",
+                "192.168.1.20:5555\tdevice",
+                "")))
+                .containsExactly("emulator-5554", "192.168.1.20:5555");
+    }
+
+    @Test
+    public void config_accepts_lists_and_comma_separated_devices() {
+        ConductorConfig config = new ConductorConfig("/test_yaml/android_full.yaml");
+        Assertions.assertThat(config.getDevices()).isEmpty();
+
+        config.setDevices("emulator-5554, emulator-5556");
+        Assertions.assertThat(config.getDevices()).containsExactly("emulator-5554", "emulator-5556");
+
+        config.setDevices("[emulator-5554, emulator-5556]");
+        Assertions.assertThat(config.getDevices()).containsExactly("emulator-5554", "emulator-5556");
+    }
+}
@@ -0,0 +1,121 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import org.mockito.ArgumentCaptor;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.interactions.Sequence;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class GestureEngineTest {
+
+    private GestureEngine engine;
+    private AppiumDriver driver;
+
+    @BeforeMethod
+    public void setup() {
+        engine = new GestureEngine();
+        driver = mock(AppiumDriver.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void swipe_is_one_sequence_in_absolute_coordinates() {
+        Map<String, Object> swipe = GestureEngine.swipe(new Point(50, 80), new Point(50, 20),
+                Duration.ofMillis(300), false).encode();
+
+        List<Map<String, Object>> actions = (List<Map<String, Object>>) swipe.get("actions");
+        assertThat(actions).extracting(action -> action.get("type"))
+                .containsExactly("pointerMove", "pointerDown", "pointerMove", "pointerUp");
+        assertThat(actions.get(0)).containsEntry("origin", "viewport").containsEntry("x", 50).containsEntry("y", 80);
+        assertThat(actions.get(2)).containsEntry("duration", 300L).containsEntry("x", 50).containsEntry("y", 20);
+        assertThat(swipe.get("parameters")).isEqualTo(Collections.singletonMap("pointerType", "touch"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void long_press_holds_before_moving() {
+        List<Map<String, Object>> actions = (List<Map<String, Object>>) GestureEngine.swipe(new Point(1, 1),
+                new Point(1, 50), Duration.ofMillis(300), true).encode().get("actions");
+
+        assertThat(actions).extracting(action -> action.get("type"))
+                .containsExactly("pointerMove", "pointerDown", "pause", "pointerMove", "pointerUp");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void tap_moves_to_the_element() {
+        MobileElement element = mock(MobileElement.class);
+        when(element.getId()).thenReturn("element-1");
+
+        List<Map<String, Object>> actions = (List<Map<String, Object>>) GestureEngine.tap(element).encode()
+                .get("actions");
+
+        assertThat(actions.get(0)).containsEntry("origin", element);
+        assertThat(actions).extracting(action -> action.get("type"))
+                .containsExactly("pointerMove", "pointerDown", "pointerUp");
+    }
+
+    @Test
+    public void tap_needs_an_element_of_the_session() {
+        assertThatThrownBy(() -> engine.tap(driver, mock(MobileElement.class)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Element should be defined");
+        verify(driver, never()).perform(anyCollection());
+    }
+
+    @Test
+    public void native_swipe_covers_the_path_of_the_finger() {
+        Map<String, Object> gesture = GestureEngine.swipeGesture(new Point(50, 80), new Point(50, 20),
+                Duration.ofMillis(300));
+
+        assertThat(gesture).containsEntry("left", 49).containsEntry("top", 20).containsEntry("width", 2)
+                .containsEntry("height", 60).containsEntry("direction", "up").containsEntry("speed", 200L);
+        assertThat(GestureEngine.swipeGesture(new Point(10, 10), new Point(40, 10), Duration.ofMillis(300)))
+                .containsEntry("direction", "right").containsEntry("width", 30);
+        assertThat(GestureEngine.swipeGesture(new Point(10, 10), new Point(40, 40), Duration.ofMillis(300))).isNull();
+    }
+
+    @Test
+    public void native_swipe_is_used_on_android_only() {
+        engine.swipe(driver, Platform.ANDROID, new Point(50, 80), new Point(50, 20), Duration.ofMillis(300),
+                false, true);
+        engine.swipe(driver, Platform.IOS, new Point(50, 80), new Point(50, 20), Duration.ofMillis(300),
+                false, true);
+
+        verify(driver, times(1)).executeScript(eq("mobile: swipeGesture"), anyMap());
+        verify(driver, times(1)).perform(anyCollection());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void unsupported_native_swipe_falls_back_for_the_session() {
+        when(driver.executeScript(anyString(), any())).thenThrow(new WebDriverException("Unknown mobile command"));
+
+        engine.swipe(driver, Platform.ANDROID, new Point(50, 80), new Point(50, 20), Duration.ofMillis(300),
+                false, true);
+        engine.swipe(driver, Platform.ANDROID, new Point(50, 80), new Point(50, 20), Duration.ofMillis(300),
+                false, true);
+
+        verify(driver, times(1)).executeScript(anyString(), any());
+        ArgumentCaptor<Collection<Sequence>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(driver, times(2)).perform(captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+    }
+}
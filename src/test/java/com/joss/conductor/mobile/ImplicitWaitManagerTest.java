@@ -0,0 +1,88 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+import org.mockito.InOrder;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class ImplicitWaitManagerTest {
+
+    private ImplicitWaitManager manager;
+    private AppiumDriver driver;
+    private WebDriver.Timeouts timeouts;
+
+    @BeforeMethod
+    public void setup() {
+        manager = new ImplicitWaitManager();
+        timeouts = mock(WebDriver.Timeouts.class);
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        when(options.timeouts()).thenReturn(timeouts);
+        driver = mock(AppiumDriver.class);
+        when(driver.manage()).thenReturn(options);
+    }
+
+    @Test
+    public void unchanged_value_is_not_sent() {
+        manager.apply(driver, 5000);
+        manager.apply(driver, 5000);
+
+        verify(timeouts, times(1)).implicitlyWait(5000, TimeUnit.MILLISECONDS);
+        assertThat(manager.getImplicitWait(driver)).isEqualTo(5000);
+    }
+
+    @Test
+    public void sessions_start_without_implicit_wait() {
+        manager.apply(driver, 0);
+
+        verify(timeouts, never()).implicitlyWait(anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void lookup_runs_without_implicit_wait_and_restores_it() {
+        manager.apply(driver, 3000);
+
+        Long during = manager.withoutImplicitWait(driver, () -> manager.getImplicitWait(driver));
+
+        assertThat(during).isEqualTo(0);
+        assertThat(manager.getImplicitWait(driver)).isEqualTo(3000);
+        InOrder order = inOrder(timeouts);
+        order.verify(timeouts).implicitlyWait(3000, TimeUnit.MILLISECONDS);
+        order.verify(timeouts).implicitlyWait(0, TimeUnit.MILLISECONDS);
+        order.verify(timeouts).implicitlyWait(3000, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void implicit_wait_is_restored_when_lookup_fails() {
+        manager.apply(driver, 3000);
+
+        assertThatThrownBy(() -> manager.withoutImplicitWait(driver, () -> {
+            throw new IllegalStateException("lookup failed");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(manager.getImplicitWait(driver)).isEqualTo(3000);
+    }
+
+    @Test
+    public void nested_lookups_drop_the_implicit_wait_once() {
+        manager.apply(driver, 3000);
+
+        manager.withoutImplicitWait(driver, () -> manager.withoutImplicitWait(driver, () -> true));
+
+        verify(timeouts, times(1)).implicitlyWait(0, TimeUnit.MILLISECONDS);
+        verify(timeouts, times(2)).implicitlyWait(3000, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void lookups_without_implicit_wait_cost_no_commands() {
+        assertThat(manager.withoutImplicitWait(driver, () -> "found")).isEqualTo("found");
+
+        verifyZeroInteractions(timeouts);
+    }
+}
@@ -0,0 +1,144 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.remote.AndroidMobileCapabilityType;
+import io.appium.java_client.remote.MobileCapabilityType;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.mockito.Mockito.*;
+
+public class InstallStateTrackerTest {
+
+    private ConductorConfig config;
+    private Path stateFile;
+    private Path app;
+    private String versionCode;
+    private int versionCodeReads;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        Path dir = Files.createTempDirectory("install-state");
+        stateFile = dir.resolve("install-state.properties");
+        app = Files.write(dir.resolve("android.apk"), "apk-content".getBytes("UTF-8"));
+        versionCode = "42";
+        versionCodeReads = 0;
+
+        config = new ConductorConfig("/test_yaml/android_full.yaml");
+        config.setFullReset(false);
+        config.setAppPackageName("com.example");
+    }
+
+    @Test
+    public void first_session_installs_the_app() {
+        DesiredCapabilities capabilities = capabilities();
+
+        InstallStateTracker.Installation installation = tracker().prepare(config, capabilities);
+
+        Assertions.assertThat(installation.isSkipped()).isFalse();
+        Assertions.assertThat(capabilities.getCapability(MobileCapabilityType.APP)).isEqualTo(app.toString());
+    }
+
+    @Test
+    public void same_build_is_not_installed_again() {
+        InstallStateTracker tracker = tracker();
+        tracker.confirm(mock(AppiumDriver.class), tracker.prepare(config, capabilities()));
+
+        DesiredCapabilities capabilities = capabilities();
+        InstallStateTracker.Installation installation = tracker.prepare(config, capabilities);
+
+        Assertions.assertThat(installation.isSkipped()).isTrue();
+        Assertions.assertThat(capabilities.getCapability(MobileCapabilityType.APP)).isNull();
+        Assertions.assertThat(capabilities.getCapability(AndroidMobileCapabilityType.APP_PACKAGE))
+                .isEqualTo("com.example");
+    }
+
+    @Test
+    public void state_survives_between_runs() {
+        InstallStateTracker tracker = tracker();
+        tracker.confirm(mock(AppiumDriver.class), tracker.prepare(config, capabilities()));
+
+        Assertions.assertThat(tracker().prepare(config, capabilities()).isSkipped()).isTrue();
+    }
+
+    @Test
+    public void changed_app_or_version_code_is_installed() throws IOException {
+        InstallStateTracker tracker = tracker();
+        tracker.confirm(mock(AppiumDriver.class), tracker.prepare(config, capabilities()));
+
+        versionCode = "43";
+        Assertions.assertThat(tracker.prepare(config, capabilities()).isSkipped()).isFalse();
+
+        versionCode = "42";
+        Files.write(app, "new-apk-content".getBytes("UTF-8"));
+        Assertions.assertThat(tracker.prepare(config, capabilities()).isSkipped()).isFalse();
+    }
+
+    @Test
+    public void missing_app_is_installed_after_session_start() {
+        InstallStateTracker tracker = tracker();
+        tracker.confirm(mock(AppiumDriver.class), tracker.prepare(config, capabilities()));
+        AppiumDriver driver = mock(AppiumDriver.class);
+        when(driver.isAppInstalled("com.example")).thenReturn(false);
+
+        tracker.confirm(driver, tracker.prepare(config, capabilities()));
+
+        verify(driver).installApp(app.toString());
+        verify(driver).activateApp("com.example");
+    }
+
+    @Test
+    public void version_code_is_read_once_per_session() {
+        InstallStateTracker tracker = tracker();
+        tracker.confirm(mock(AppiumDriver.class), tracker.prepare(config, capabilities()));
+        Assertions.assertThat(versionCodeReads).isEqualTo(1);
+
+        versionCodeReads = 0;
+        AppiumDriver driver = mock(AppiumDriver.class);
+        when(driver.isAppInstalled("com.example")).thenReturn(true);
+        InstallStateTracker.Installation installation = tracker.prepare(config, capabilities());
+        tracker.confirm(driver, installation);
+
+        Assertions.assertThat(installation.isSkipped()).isTrue();
+        Assertions.assertThat(versionCodeReads).isEqualTo(1);
+    }
+
+    @Test
+    public void blank_udid_is_not_tracked() {
+        DesiredCapabilities capabilities = capabilities();
+        capabilities.setCapability(MobileCapabilityType.UDID, " ");
+
+        Assertions.assertThat(tracker().prepare(config, capabilities)).isNull();
+    }
+
+    @Test
+    public void full_reset_is_not_tracked() {
+        config.setFullReset(true);
+
+        Assertions.assertThat(tracker().prepare(config, capabilities())).isNull();
+    }
+
+    private DesiredCapabilities capabilities() {
+        DesiredCapabilities capabilities = new DesiredCapabilities();
+        capabilities.setCapability(MobileCapabilityType.UDID, "emulator-5554");
+        capabilities.setCapability(MobileCapabilityType.APP, app.toString());
+        capabilities.setCapability(AndroidMobileCapabilityType.APP_ACTIVITY, ".MainActivity");
+        return capabilities;
+    }
+
+    private InstallStateTracker tracker() {
+        return new InstallStateTracker(stateFile) {
+            @Override
+            String versionCode(Installation installation) {
+                versionCodeReads++;
+                return versionCode;
+            }
+        };
+    }
+}
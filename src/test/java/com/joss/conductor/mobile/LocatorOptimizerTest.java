@@ -0,0 +1,90 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.MobileBy;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.By;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class LocatorOptimizerTest {
+
+    @Test
+    public void ios_name_xpath_becomes_accessibility_id() {
+        Assertions.assertThat(LocatorOptimizer.rewrite(By.xpath("//*[@name='Login']"), Platform.IOS))
+                .isEqualTo(MobileBy.AccessibilityId("Login"));
+    }
+
+    @Test
+    public void ios_by_name_becomes_accessibility_id() {
+        Assertions.assertThat(LocatorOptimizer.rewrite(By.name("Login"), Platform.IOS))
+                .isEqualTo(MobileBy.AccessibilityId("Login"));
+    }
+
+    @Test
+    public void ios_typed_xpath_becomes_predicate() {
+        Assertions.assertThat(LocatorOptimizer.rewrite(
+                By.xpath("//XCUIElementTypeButton[@label=\"Don't allow\" and contains(@value, 'x')]"), Platform.IOS))
+                .isEqualTo(MobileBy.iOSNsPredicateString(
+                        "type == 'XCUIElementTypeButton' AND label == 'Don\\'t allow' AND value CONTAINS 'x'"));
+    }
+
+    @Test
+    public void android_resource_id_xpath_becomes_id() {
+        Assertions.assertThat(LocatorOptimizer.rewrite(By.xpath("//*[@resource-id='com.app:id/login']"),
+                Platform.ANDROID))
+                .isEqualTo(By.id("com.app:id/login"));
+    }
+
+    @Test
+    public void android_text_xpath_becomes_ui_selector() {
+        Assertions.assertThat(LocatorOptimizer.rewrite(
+                By.xpath("//android.widget.Button[starts-with(@text, 'Sign \"in\"')]"), Platform.ANDROID))
+                .isEqualTo(MobileBy.AndroidUIAutomator(
+                        "new UiSelector().className(\"android.widget.Button\").textStartsWith(\"Sign \\\"in\\\"\")"));
+    }
+
+    @Test
+    public void type_only_xpath_becomes_class_name() {
+        Assertions.assertThat(LocatorOptimizer.rewrite(By.xpath("//android.widget.EditText"), Platform.ANDROID))
+                .isEqualTo(By.className("android.widget.EditText"));
+    }
+
+    @Test
+    public void unrecognized_locators_are_kept() {
+        By[] locators = {
+                By.xpath("//*[@name='a']/XCUIElementTypeCell"),
+                By.xpath("(//*[@name='a'])[2]"),
+                By.xpath("//*[@name='a'][1]"),
+                By.xpath("//*[@name='a' or @label='a']"),
+                By.xpath("//*[@visible='true']"),
+                By.id("login")
+        };
+        for (By by : locators) {
+            Assertions.assertThat(LocatorOptimizer.rewrite(by, Platform.IOS)).isSameAs(by);
+        }
+        Assertions.assertThat(LocatorOptimizer.rewrite(By.name("login"), Platform.ANDROID))
+                .isEqualTo(By.name("login"));
+    }
+
+    @Test
+    public void rewrites_are_reported_by_use() throws IOException {
+        LocatorOptimizer optimizer = new LocatorOptimizer();
+        optimizer.optimize(By.xpath("//*[@name='once']"), Platform.IOS);
+        optimizer.optimize(By.xpath("//*[@name='twice']"), Platform.IOS);
+        optimizer.optimize(By.xpath("//*[@name='twice']"), Platform.IOS);
+        optimizer.optimize(By.id("kept"), Platform.IOS);
+
+        Path file = Files.createTempDirectory("rewrites").resolve("locator-rewrites.jsonl");
+        optimizer.write(file);
+
+        List<String> lines = Files.readAllLines(file);
+        Assertions.assertThat(lines).hasSize(2);
+        Assertions.assertThat(lines.get(0))
+                .contains("[@name='twice']", "\"rewritten\": \"By.AccessibilityId: twice\"", "\"uses\": 2");
+        Assertions.assertThat(lines.get(1)).contains("once", "\"uses\": 1");
+    }
+}
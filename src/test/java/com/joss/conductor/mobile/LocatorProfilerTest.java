@@ -0,0 +1,90 @@
+package com.joss.conductor.mobile;
+
+import com.joss.conductor.mobile.annotation.PlatformFindByBindingTest;
+import com.joss.conductor.mobile.annotation.PlatformFindByHelper;
+import io.appium.java_client.MobileBy;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.By;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class LocatorProfilerTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void percentiles_are_computed_per_locator() {
+        LocatorProfiler profiler = new LocatorProfiler();
+        By by = By.id("login");
+        for (int i = 1; i <= 100; i++) {
+            profiler.record(by, by, i * MILLIS, i % 10 == 0, "test_login");
+        }
+
+        LocatorProfiler.Stats stats = profiler.getStats(by);
+        Assertions.assertThat(stats.count()).isEqualTo(100);
+        Assertions.assertThat(stats.failures()).isEqualTo(10);
+        Assertions.assertThat(stats.percentile(50)).isEqualTo(50 * MILLIS);
+        Assertions.assertThat(stats.percentile(95)).isEqualTo(95 * MILLIS);
+        Assertions.assertThat(stats.maxNanos()).isEqualTo(100 * MILLIS);
+        Assertions.assertThat(stats.tests()).containsExactly("test_login");
+    }
+
+    @Test
+    public void samples_are_bounded() {
+        LocatorProfiler profiler = new LocatorProfiler();
+        By by = By.id("list");
+        for (int i = 0; i < 10000; i++) {
+            profiler.record(by, by, MILLIS, false, null);
+        }
+
+        Assertions.assertThat(profiler.getStats(by).count()).isEqualTo(10000);
+        Assertions.assertThat(profiler.getStats(by).percentile(95)).isEqualTo(MILLIS);
+    }
+
+    @Test
+    public void locators_are_bounded() {
+        LocatorProfiler profiler = new LocatorProfiler();
+        for (int i = 0; i < 5000; i++) {
+            By by = By.xpath("//*[@text='row " + i + "']");
+            profiler.record(by, by, MILLIS, false, null);
+        }
+
+        Assertions.assertThat(profiler.getStats(By.xpath("//*[@text='row 0']")).count()).isEqualTo(1);
+        Assertions.assertThat(profiler.getStats(By.xpath("//*[@text='row 4999']"))).isNull();
+    }
+
+    @Test
+    public void report_ranks_locators_by_total_time() throws IOException {
+        LocatorProfiler profiler = new LocatorProfiler();
+        By fast = By.id("fast");
+        By slow = By.xpath("//*[@name='slow']");
+        profiler.record(fast, fast, 5 * MILLIS, false, "test_a");
+        profiler.record(slow, MobileBy.AccessibilityId("slow"), 400 * MILLIS, true, "test_b");
+        profiler.registerField(slow, "LoginPage.slow");
+
+        Path file = Files.createTempDirectory("latency").resolve("locator-latency.jsonl");
+        profiler.write(file);
+
+        List<String> lines = Files.readAllLines(file);
+        Assertions.assertThat(lines).hasSize(2);
+        Assertions.assertThat(lines.get(0))
+                .contains("\"strategy\": \"AccessibilityId\"", "\"failures\": 1", "\"p95Millis\": 400",
+                        "\"test_b\"", "\"LoginPage.slow\"");
+        Assertions.assertThat(lines.get(1)).contains("\"locator\": \"By.id: fast\"", "\"strategy\": \"id\"");
+    }
+
+    @Test
+    public void fields_of_pages_with_a_generated_binder_are_registered() {
+        PlatformFindByHelper.initIds(new PlatformFindByBindingTest.GeneratedPage(), Platform.ANDROID);
+
+        Map<String, ?> line = LocatorProfiler.getInstance().toJson(By.id("generated"), new LocatorProfiler.Stats("id"));
+        Assertions.assertThat(line.get("fields")).isEqualTo(Collections.singletonList("GeneratedPage.Item"));
+    }
+}
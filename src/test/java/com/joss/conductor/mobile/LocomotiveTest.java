@@ -1,30 +1,32 @@
 package com.joss.conductor.mobile;
 
 import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileBy;
 import io.appium.java_client.MobileElement;
-import io.appium.java_client.TouchAction;
 import io.appium.java_client.remote.AndroidMobileCapabilityType;
 import io.appium.java_client.remote.MobileCapabilityType;
 import org.assertj.swing.assertions.Assertions;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.openqa.selenium.*;
+import org.openqa.selenium.interactions.Pause;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
-import static com.joss.conductor.mobile.MockTestUtil.matchesEntriesIn;
 import static com.joss.conductor.mobile.SwipeElementDirection.DOWN;
-import static io.appium.java_client.touch.WaitOptions.waitOptions;
-import static io.appium.java_client.touch.offset.PointOption.point;
-import static java.time.Duration.ofMillis;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.*;
 
@@ -133,8 +135,7 @@ public class LocomotiveTest {
     @Test
     public void test_get_center_web_element() {
         MobileElement element = mock(MobileElement.class);
-        when(element.getLocation()).thenReturn(new Point(50, 0));
-        when(element.getSize()).thenReturn(new Dimension(10, 10));
+        when(element.getRect()).thenReturn(new Rectangle(50, 0, 10, 10));
 
         Point center = new Point(55, 5);
         Locomotive locomotive = new Locomotive()
@@ -143,6 +144,9 @@ public class LocomotiveTest {
 
         Assertions.assertThat(locomotive.getCenter(element))
                 .isEqualToComparingFieldByField(center);
+        verify(element).getRect();
+        verify(element, never()).getLocation();
+        verify(element, never()).getSize();
     }
 
     @Test
@@ -164,22 +168,50 @@ public class LocomotiveTest {
                 .isEqualToComparingFieldByField(center);
     }
 
-    private Map<String, List<Object>> getTouchActionParameters(TouchAction action) {
-        try {
-            Method method = TouchAction.class.getDeclaredMethod("getParameters");
-            method.setAccessible(true);
-            return (Map) method.invoke(action);
-        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
+    @Test
+    public void test_window_size_is_fetched_once_per_orientation() {
+        WebDriver.Window window = mock(WebDriver.Window.class);
+        when(window.getSize()).thenReturn(new Dimension(100, 50), new Dimension(50, 100));
+
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        when(options.window()).thenReturn(window);
+
+        when(mockDriver.manage()).thenReturn(options);
+
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
 
-    private void assertThatActionMatches(TouchAction actual, TouchAction expected) {
-        Map<String, List<Object>> actualParameters = getTouchActionParameters(actual);
-        Map<String, List<Object>> expectedParameters = getTouchActionParameters(expected);
+        locomotive.swipeCenter(DOWN);
+        locomotive.swipeCornerLong(ScreenCorner.TOP_LEFT, DOWN, 100);
+        Assertions.assertThat(locomotive.getCenter(/*webElement=*/null))
+                .isEqualToComparingFieldByField(new Point(50, 25));
+        verify(window, times(1)).getSize();
 
-        assertThat(actualParameters, matchesEntriesIn(expectedParameters));
+        locomotive.rotate(ScreenOrientation.LANDSCAPE);
+        verify(mockDriver).rotate(ScreenOrientation.LANDSCAPE);
+        Assertions.assertThat(locomotive.getCenter(/*webElement=*/null))
+                .isEqualToComparingFieldByField(new Point(25, 50));
+        Assertions.assertThat(locomotive.getYCenter()).isEqualTo(50);
+        verify(window, times(2)).getSize();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertThatGestureMatches(int gestures, Point from, Point to, long millis, boolean longPress) {
+        ArgumentCaptor<Collection<Sequence>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(mockDriver, times(gestures)).perform(captor.capture());
+        Assertions.assertThat(captor.getValue()).hasSize(1);
+
+        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+        Sequence expected = new Sequence(finger, 0)
+                .addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), from.x, from.y))
+                .addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        if (longPress) {
+            expected.addAction(new Pause(finger, Duration.ofMillis(1000)));
+        }
+        expected.addAction(finger.createPointerMove(Duration.ofMillis(millis), PointerInput.Origin.viewport(), to.x, to.y))
+                .addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        Assertions.assertThat(captor.getValue().iterator().next().encode()).isEqualTo(expected.encode());
     }
 
     private void initMockDriverSizes() {
@@ -188,8 +220,7 @@ public class LocomotiveTest {
 
     private void initMockDriverSizes(WebElement mockElement) {
         if (mockElement != null) {
-            when(mockElement.getLocation()).thenReturn(new Point(0, 0));
-            when(mockElement.getSize()).thenReturn(new Dimension(10, 10));
+            when(mockElement.getRect()).thenReturn(new Rectangle(0, 0, 10, 10));
         }
 
         WebDriver.Window window = mock(WebDriver.Window.class);
@@ -206,7 +237,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(50, 75), new Point(0, 25)};
+        Point moveTo = new Point(50, 75);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -214,14 +245,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCenter(DOWN);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(50, 50))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(50, 50), moveTo, 2000, false);
         }
 
     }
@@ -231,7 +255,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(50, 75), new Point(0, 25)};
+        Point moveTo = new Point(50, 75);
 
         for (int i = 0; i < configs.length; i++) {
             final Locomotive locomotive = new Locomotive()
@@ -239,14 +263,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.longPressSwipeCenter(DOWN);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).longPress(point(50, 50))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(50, 50), moveTo, 2000, true);
         }
 
     }
@@ -256,7 +273,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(20, 20), new Point(19, 19)};
+        Point moveTo = new Point(20, 20);
 
         for (int i = 0; i < configs.length; i++) {
             final Locomotive locomotive = new Locomotive()
@@ -264,14 +281,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipe(new Point(1, 1), new Point(20, 20));
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(1, 1))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(1, 1), moveTo, 2000, false);
         }
     }
 
@@ -280,6 +290,9 @@ public class LocomotiveTest {
         ConductorConfig customConfig = new ConductorConfig("/test_yaml/android_full.yaml");
         // cause startAppiumSession to retry 4 times
         customConfig.setStartSessionRetries(4);
+        customConfig.setStartSessionRetryDelay(10);
+        // nothing listens on this port, so every attempt fails with a retryable connection error
+        customConfig.setHub("http://127.0.0.1:1/wd/hub");
 
         // spy on the config to count invocations
         ConductorConfig spy = Mockito.spy(customConfig);
@@ -289,7 +302,7 @@ public class LocomotiveTest {
 
         // run the method under test
         try {
-            locomotive.startAppiumSession(1);
+            locomotive.startAppiumSession();
             assertThat("Expected startAppiumSession() has failed", false);
         } catch (WebDriverException e) {
             assertThat("Verify startAppiumSession() has failed", true);
@@ -299,12 +312,434 @@ public class LocomotiveTest {
         verify(spy, times(4)).isLocal();
     }
 
+    @Test
+    public void element_cache_reuses_element_until_screen_changes() {
+        androidConfig.setElementCache(true);
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        By by = By.id("title");
+        MobileElement element = mock(MobileElement.class);
+        when(element.getId()).thenReturn("element-1");
+        when(element.getText()).thenReturn("Title");
+        when(mockDriver.findElement(by)).thenReturn(element);
+
+        locomotive.getText(by);
+        locomotive.getAttribute(by, "enabled");
+        verify(mockDriver, times(1)).findElement(by);
+
+        locomotive.click(by);
+        locomotive.getText(by);
+        verify(mockDriver, times(2)).findElement(by);
+    }
+
+    @Test
+    public void optimized_locators_are_sent_to_appium() {
+        iosConfig.setOptimizeLocators(true);
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(iosConfig)
+                .setAppiumDriver(mockDriver);
+        MobileElement element = mock(MobileElement.class);
+        when(element.getText()).thenReturn("Title");
+        when(mockDriver.findElement(MobileBy.AccessibilityId("title"))).thenReturn(element);
+
+        Assertions.assertThat(locomotive.getText(By.xpath("//*[@name='title']"))).isEqualTo("Title");
+        verify(mockDriver, never()).findElement(By.xpath("//*[@name='title']"));
+    }
+
+    @Test
+    public void profiled_lookups_are_recorded() {
+        androidConfig.setLocatorProfiling(true);
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        By by = By.id("profiled");
+        when(mockDriver.findElement(by)).thenThrow(new NoSuchElementException("not there"));
+
+        Assertions.assertThatThrownBy(() -> locomotive.getText(by)).isInstanceOf(NoSuchElementException.class);
+        locomotive.isPresent(by);
+
+        LocatorProfiler.Stats stats = LocatorProfiler.getInstance().getStats(by);
+        Assertions.assertThat(stats.count()).isEqualTo(2);
+        Assertions.assertThat(stats.failures()).isEqualTo(1);
+    }
+
+    @Test
+    public void presence_checks_run_without_implicit_wait() {
+        WebDriver.Timeouts timeouts = mock(WebDriver.Timeouts.class);
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        when(options.timeouts()).thenReturn(timeouts);
+        when(mockDriver.manage()).thenReturn(options);
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        ImplicitWaitManager.getInstance().apply(mockDriver, 5000);
+        By by = By.id("absent");
+
+        locomotive.validateNotPresent(by);
+
+        InOrder order = inOrder(timeouts, mockDriver);
+        order.verify(timeouts).implicitlyWait(0, TimeUnit.MILLISECONDS);
+        order.verify(mockDriver).findElements(by);
+        order.verify(timeouts).implicitlyWait(5000, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void swipe_to_probes_without_implicit_wait() {
+        initMockDriverSizes();
+        WebDriver.Timeouts timeouts = mock(WebDriver.Timeouts.class);
+        when(mockDriver.manage().timeouts()).thenReturn(timeouts);
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        ImplicitWaitManager.getInstance().apply(mockDriver, 5000);
+        By by = By.id("below");
+        when(mockDriver.findElement(by)).thenThrow(new NoSuchElementException("not there"));
+
+        Assertions.assertThat(locomotive.swipeTo(DOWN, by, 2)).isNull();
+
+        InOrder order = inOrder(timeouts, mockDriver);
+        for (int i = 0; i < 2; i++) {
+            order.verify(timeouts).implicitlyWait(0, TimeUnit.MILLISECONDS);
+            order.verify(mockDriver).findElement(by);
+            order.verify(timeouts).implicitlyWait(5000, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Test
+    public void present_wait_polls_with_the_configured_policy() {
+        androidConfig.setWaitPolling("exponential");
+        androidConfig.setWaitPollingInterval(10);
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        By by = By.id("polled");
+        MobileElement element = mock(MobileElement.class);
+        when(element.isDisplayed()).thenReturn(false, false, true);
+        when(element.isEnabled()).thenReturn(true);
+        when(mockDriver.findElement(by)).thenReturn(element);
+
+        Assertions.assertThat(locomotive.isPresentWait(by, 5)).isTrue();
+
+        WaitEngine.Metrics metrics = WaitEngine.getInstance().getMetrics().get(by.toString());
+        Assertions.assertThat(metrics.getPolls()).isEqualTo(3);
+        Assertions.assertThat(metrics.getTimeouts()).isEqualTo(0);
+        verify(mockDriver, times(3)).findElement(by);
+    }
+
+    @Test
+    public void present_wait_times_out() {
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        By by = By.id("missing");
+        when(mockDriver.findElement(by)).thenThrow(new NoSuchElementException("not there"));
+
+        Assertions.assertThat(locomotive.isPresentWait(by, 0, PollingPolicy.fixed(10))).isFalse();
+        Assertions.assertThat(WaitEngine.getInstance().getMetrics().get(by.toString()).getTimeouts()).isEqualTo(1);
+    }
+
+    @Test
+    public void wait_for_any_checks_all_locators_on_one_page_source() {
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        when(mockDriver.getPageSource()).thenReturn(UiHierarchyTest.ANDROID_SOURCE);
+        By onboarding = By.id("onboarding");
+        By login = By.id("login");
+        By home = By.id("ok");
+
+        Assertions.assertThat(locomotive.waitForAny(0, onboarding, login, home)).isEqualTo(home);
+        verify(mockDriver, times(1)).getPageSource();
+        verify(mockDriver, never()).findElements(any(By.class));
+    }
+
+    @Test
+    public void wait_for_any_fetches_an_unparseable_page_source_once() {
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        when(mockDriver.getPageSource()).thenReturn("<hierarchy>");
+        By login = By.id("login");
+        By home = By.id("ok");
+        when(mockDriver.findElements(home)).thenReturn(Collections.singletonList(mock(MobileElement.class)));
+
+        Assertions.assertThat(locomotive.waitForAny(0, login, home)).isEqualTo(home);
+        verify(mockDriver, times(1)).getPageSource();
+        verify(mockDriver).findElements(login);
+    }
+
+    @Test
+    public void wait_for_any_looks_up_other_strategies_in_the_session() {
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        By dialog = MobileBy.AndroidUIAutomator("new UiSelector().text(\"Allow\")");
+        when(mockDriver.findElements(dialog)).thenReturn(Collections.singletonList(mock(MobileElement.class)));
+
+        Assertions.assertThat(locomotive.waitForAny(0, dialog)).isEqualTo(dialog);
+        verify(mockDriver, never()).getPageSource();
+    }
+
+    @Test
+    public void wait_for_all_times_out_when_one_is_missing() {
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        when(mockDriver.getPageSource()).thenReturn(UiHierarchyTest.ANDROID_SOURCE);
+
+        locomotive.waitForAll(0, By.id("row"), By.id("ok"));
+        Assertions.assertThatThrownBy(() -> locomotive.waitForAll(0, By.id("row"), By.id("missing")))
+                .isInstanceOf(TimeoutException.class)
+                .hasMessageContaining("all of [By.id: row, By.id: missing]");
+    }
+
+    @Test
+    public void wait_for_any_condition_returns_the_index_of_the_met_one() {
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        ExpectedCondition<Boolean> never = driver -> false;
+        ExpectedCondition<WebElement> missing = driver -> {
+            throw new NoSuchElementException("missing");
+        };
+        ExpectedCondition<String> met = driver -> "met";
+
+        Assertions.assertThat(locomotive.waitForAny(0, never, missing, met)).isEqualTo(2);
+        Assertions.assertThatThrownBy(() -> locomotive.waitForAll(0, never, met))
+                .isInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    public void stable_ui_returns_once_the_page_source_settles() {
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        String loading = UiHierarchyTest.ANDROID_SOURCE.replace("First", "Loading");
+        when(mockDriver.getPageSource()).thenReturn(loading, UiHierarchyTest.ANDROID_SOURCE);
+
+        Assertions.assertThat(locomotive.waitForStableUi(null, 3, 1, 5000)).isTrue();
+        verify(mockDriver, times(4)).getPageSource();
+    }
+
+    @Test
+    public void stable_ui_gives_up_at_the_timeout() {
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        int[] frame = {0};
+        when(mockDriver.getPageSource()).thenAnswer(invocation -> "<spinner frame=\"" + frame[0]++ + "\"/>");
+
+        Assertions.assertThat(locomotive.waitForStableUi(null, 2, 1, 50)).isFalse();
+        Assertions.assertThatThrownBy(() -> locomotive.waitForStableUi(null, 1, 1, 50))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void stable_ui_of_a_subtree_ignores_the_rest_of_the_screen() {
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        int[] frame = {0};
+        when(mockDriver.getPageSource()).thenAnswer(invocation ->
+                UiHierarchyTest.ANDROID_SOURCE.replace("It's OK", "Frame " + frame[0]++));
+
+        Assertions.assertThat(locomotive.waitForStableUi(By.id("row"), 2, 1, 5000)).isTrue();
+        verify(mockDriver, times(2)).getPageSource();
+    }
+
+    @Test
+    public void stable_ui_of_a_missing_subtree_is_not_stable() {
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        when(mockDriver.getPageSource()).thenReturn(UiHierarchyTest.ANDROID_SOURCE);
+
+        Assertions.assertThat(locomotive.waitForStableUi(By.id("missing"), 2, 1, 50)).isFalse();
+    }
+
+    @Test
+    public void read_elements_uses_one_page_source() {
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        when(mockDriver.getPageSource()).thenReturn(UiHierarchyTest.ANDROID_SOURCE);
+
+        List<ElementSnapshot> rows = locomotive.readElements(By.id("row"), "enabled");
+
+        Assertions.assertThat(rows).extracting(ElementSnapshot::getText).containsExactly("First", "Second");
+        verify(mockDriver, never()).findElements(any(By.class));
+    }
+
+    @Test
+    public void read_elements_falls_back_to_element_reads() {
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        By by = MobileBy.AndroidUIAutomator("new UiSelector().text(\"First\")");
+        MobileElement element = mock(MobileElement.class);
+        when(element.getText()).thenReturn("First");
+        when(element.getAttribute("enabled")).thenReturn("true");
+        when(element.getRect()).thenReturn(new Rectangle(0, 100, 100, 540));
+        when(mockDriver.getPageSource()).thenReturn(UiHierarchyTest.ANDROID_SOURCE);
+        when(mockDriver.findElements(by)).thenReturn(Collections.singletonList(element));
+
+        List<ElementSnapshot> rows = locomotive.readElements(by, "enabled");
+
+        Assertions.assertThat(rows).hasSize(1);
+        Assertions.assertThat(rows.get(0).getAttribute("enabled")).isEqualTo("true");
+        Assertions.assertThat(rows.get(0).getRect()).isEqualTo(new Rectangle(0, 100, 100, 540));
+    }
+
+    @Test
+    public void page_source_snapshot_answers_validations_until_screen_changes() {
+        androidConfig.setPageSourceSnapshot(true);
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        when(mockDriver.getPageSource()).thenReturn(UiHierarchyTest.ANDROID_SOURCE);
+
+        locomotive.validateText(By.id("com.app:id/ok"), "It's OK")
+                .validatePresent(By.xpath("//*[@text='First']"))
+                .validateNotPresent(By.id("missing"))
+                .validateAttribute(By.id("com.app:id/ok"), "resource-id", "com.app:id/ok")
+                .validateAttribute(By.id("com.app:id/ok"), "resourceId", "com.app:id/ok")
+                .validateTextPresent("Second");
+        Assertions.assertThat(locomotive.getAttribute(By.xpath("//*[@content-desc='first row']"), "enabled"))
+                .isEqualTo("true");
+        verify(mockDriver, times(1)).getPageSource();
+        verify(mockDriver, never()).findElement(any(By.class));
+        verify(mockDriver, never()).findElements(any(By.class));
+
+        locomotive.invalidateElementCache();
+        locomotive.validateTextPresent("First");
+        verify(mockDriver, times(2)).getPageSource();
+    }
+
+    @Test
+    public void page_source_snapshot_evaluates_locators_before_optimizing_them() {
+        androidConfig.setPageSourceSnapshot(true);
+        androidConfig.setOptimizeLocators(true);
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        when(mockDriver.getPageSource()).thenReturn(UiHierarchyTest.ANDROID_SOURCE);
+
+        locomotive.validatePresent(By.xpath("//*[@content-desc='first row']"))
+                .validateText(By.xpath("//*[@content-desc='first row']"), "First");
+        verify(mockDriver, never()).findElement(any(By.class));
+        verify(mockDriver, never()).findElements(any(By.class));
+    }
+
+    @Test
+    public void failed_release_still_forgets_the_session() {
+        androidConfig.setSessionPoolSize(1);
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        // A driver that was not leased from the pool is quit on release
+        doThrow(new IllegalStateException("quit failed")).when(mockDriver).quit();
+
+        Assertions.assertThatThrownBy(locomotive::quit).isInstanceOf(IllegalStateException.class);
+        Assertions.assertThat(locomotive.getAppiumDriver()).isNull();
+    }
+
+    @Test
+    public void pooled_session_does_not_keep_the_snapshot_of_the_previous_test() {
+        androidConfig.setPageSourceSnapshot(true);
+        androidConfig.setSessionPoolSize(1);
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        when(mockDriver.getPageSource()).thenReturn(UiHierarchyTest.ANDROID_SOURCE);
+        locomotive.validatePresent(By.id("com.app:id/ok"));
+
+        locomotive.quit();
+        locomotive.setAppiumDriver(mockDriver);
+        locomotive.validatePresent(By.id("com.app:id/ok"));
+
+        verify(mockDriver, times(2)).getPageSource();
+    }
+
+    @Test
+    public void page_source_snapshot_leaves_missing_elements_to_the_session() {
+        androidConfig.setPageSourceSnapshot(true);
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        By by = By.id("com.app:id/later");
+        MobileElement element = mock(MobileElement.class);
+        when(element.getText()).thenReturn("Appeared");
+        when(mockDriver.getPageSource()).thenReturn(UiHierarchyTest.ANDROID_SOURCE);
+        when(mockDriver.findElement(by)).thenReturn(element);
+
+        Assertions.assertThat(locomotive.getText(by)).isEqualTo("Appeared");
+    }
+
+    @Test
+    public void element_cache_finds_stale_element_again() {
+        androidConfig.setElementCache(true);
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        By by = By.id("title");
+        MobileElement stale = mock(MobileElement.class);
+        when(stale.getText()).thenReturn("Old").thenThrow(new StaleElementReferenceException("gone"));
+        MobileElement fresh = mock(MobileElement.class);
+        when(fresh.getText()).thenReturn("New");
+        when(mockDriver.findElement(by)).thenReturn(stale, fresh);
+
+        Assertions.assertThat(locomotive.getText(by)).isEqualTo("Old");
+        Assertions.assertThat(locomotive.getText(by)).isEqualTo("New");
+        verify(mockDriver, times(2)).findElement(by);
+    }
+
+    @Test
+    public void element_cache_is_disabled_by_default() {
+        Locomotive locomotive = new Locomotive()
+                .setConfiguration(androidConfig)
+                .setAppiumDriver(mockDriver);
+        By by = By.id("title");
+        when(mockDriver.findElement(by)).thenReturn(mock(MobileElement.class));
+
+        locomotive.getText(by);
+        locomotive.getText(by);
+        verify(mockDriver, times(2)).findElement(by);
+    }
+
+    @Test
+    public void startAppiumSession_reports_startup_timings() {
+        ConductorConfig customConfig = new ConductorConfig("/test_yaml/android_full.yaml");
+        customConfig.setStartSessionRetries(3);
+        customConfig.setStartSessionRetryDelay(10);
+        customConfig.setHub("http://127.0.0.1:1/wd/hub");
+        List<SessionStartupTimings> reported = new ArrayList<>();
+        SessionStartupListener listener = reported::add;
+        Locomotive.addSessionStartupListener(listener);
+
+        Locomotive locomotive = new Locomotive().setConfiguration(customConfig);
+        try {
+            Assertions.assertThatThrownBy(locomotive::startAppiumSession).isInstanceOf(WebDriverException.class);
+        } finally {
+            Locomotive.removeSessionStartupListener(listener);
+        }
+
+        Assertions.assertThat(reported).containsExactly(locomotive.getSessionStartupTimings());
+        SessionStartupTimings timings = reported.get(0);
+        Assertions.assertThat(timings.isSucceeded()).isFalse();
+        Assertions.assertThat(timings.getAttempts()).isEqualTo(3);
+        Assertions.assertThat(timings.getPhaseMillis(SessionStartupTimings.Phase.RETRIES)).isGreaterThanOrEqualTo(10);
+        Assertions.assertThat(timings.getPhaseMillis(SessionStartupTimings.Phase.NEW_SESSION)).isZero();
+        Assertions.assertThat(timings.getTotalMillis())
+                .isGreaterThanOrEqualTo(timings.getPhaseMillis(SessionStartupTimings.Phase.RETRIES));
+    }
+
     @Test
     public void test_perform_swipe_center_down_long() {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(50, 99), new Point(0, 49)};
+        Point moveTo = new Point(50, 99);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -312,14 +747,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCenterLong(DOWN);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(50, 50))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(50, 50), moveTo, 2000, false);
         }
     }
 
@@ -328,7 +756,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(37, 50), new Point(-13, 0)};
+        Point moveTo = new Point(37, 50);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -336,14 +764,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCenter(SwipeElementDirection.LEFT);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(50, 50))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(50, 50), moveTo, 2000, false);
         }
     }
 
@@ -352,7 +773,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(25, 50), new Point(-25, 0)};
+        Point moveTo = new Point(25, 50);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -360,14 +781,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCenterLong(SwipeElementDirection.LEFT);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(50, 50))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(50, 50), moveTo, 2000, false);
         }
     }
 
@@ -376,7 +790,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(50, 37), new Point(0, -13)};
+        Point moveTo = new Point(50, 37);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -384,14 +798,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCenter(SwipeElementDirection.UP);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(50, 50))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(50, 50), moveTo, 2000, false);
         }
     }
 
@@ -400,7 +807,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(50, 25), new Point(0, -25)};
+        Point moveTo = new Point(50, 25);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -408,14 +815,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCenterLong(SwipeElementDirection.UP);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(50, 50))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(50, 50), moveTo, 2000, false);
         }
     }
 
@@ -424,7 +824,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(75, 50), new Point(25, 0)};
+        Point moveTo = new Point(75, 50);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -432,14 +832,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCenter(SwipeElementDirection.RIGHT);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(50, 50))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(50, 50), moveTo, 2000, false);
         }
     }
 
@@ -448,7 +841,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(99, 50), new Point(49, 0)};
+        Point moveTo = new Point(99, 50);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -456,14 +849,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCenterLong(SwipeElementDirection.RIGHT);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(50, 50))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(50, 50), moveTo, 2000, false);
         }
     }
 
@@ -488,7 +874,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(90, 40), new Point(0, -50)};
+        Point moveTo = new Point(90, 40);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -496,14 +882,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerLong(ScreenCorner.BOTTOM_RIGHT, SwipeElementDirection.UP, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(90, 90))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(90, 90), moveTo, 100, false);
         }
     }
 
@@ -512,7 +891,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(90, 1), new Point(0, -89)};
+        Point moveTo = new Point(90, 1);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -520,14 +899,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerSuperLong(ScreenCorner.BOTTOM_RIGHT, SwipeElementDirection.UP, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(90, 90))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(90, 90), moveTo, 100, false);
         }
     }
 
@@ -536,7 +908,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(10, 40), new Point(0, -50)};
+        Point moveTo = new Point(10, 40);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -544,14 +916,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerLong(ScreenCorner.BOTTOM_LEFT, SwipeElementDirection.UP, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(10, 90))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(10, 90), moveTo, 100, false);
         }
     }
 
@@ -560,7 +925,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(10, 1), new Point(0, -89)};
+        Point moveTo = new Point(10, 1);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -568,14 +933,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerSuperLong(ScreenCorner.BOTTOM_LEFT, SwipeElementDirection.UP, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(10, 90))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(10, 90), moveTo, 100, false);
         }
     }
 
@@ -584,7 +942,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(90, 60), new Point(0, 50)};
+        Point moveTo = new Point(90, 60);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -592,14 +950,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerLong(ScreenCorner.TOP_RIGHT, DOWN, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(90, 10))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(90, 10), moveTo, 100, false);
         }
     }
 
@@ -608,7 +959,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(90, 99), new Point(0, 89)};
+        Point moveTo = new Point(90, 99);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -616,14 +967,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerSuperLong(ScreenCorner.TOP_RIGHT, DOWN, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(90, 10))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(90, 10), moveTo, 100, false);
         }
     }
 
@@ -632,7 +976,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(10, 60), new Point(0, 50)};
+        Point moveTo = new Point(10, 60);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -640,14 +984,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerLong(ScreenCorner.TOP_LEFT, DOWN, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(10, 10))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(10, 10), moveTo, 100, false);
         }
     }
 
@@ -656,7 +993,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(10, 99), new Point(0, 89)};
+        Point moveTo = new Point(10, 99);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -664,14 +1001,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerSuperLong(ScreenCorner.TOP_LEFT, DOWN, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(10, 10))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(10, 10), moveTo, 100, false);
         }
     }
 
@@ -680,7 +1010,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(60, 10), new Point(50, 0)};
+        Point moveTo = new Point(60, 10);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -688,14 +1018,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerLong(ScreenCorner.TOP_LEFT, SwipeElementDirection.RIGHT, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(10, 10))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(10, 10), moveTo, 100, false);
         }
     }
 
@@ -704,7 +1027,7 @@ public class LocomotiveTest {
         initMockDriverSizes();
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(40, 10), new Point(-50, 0)};
+        Point moveTo = new Point(40, 10);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -712,14 +1035,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeCornerLong(ScreenCorner.TOP_RIGHT, SwipeElementDirection.LEFT, 100);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(90, 10))
-                            .waitAction(waitOptions(ofMillis(100)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(90, 10), moveTo, 100, false);
         }
     }
 
@@ -729,7 +1045,7 @@ public class LocomotiveTest {
         initMockDriverSizes(element);
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(5, 30), new Point(0, 25)};
+        Point moveTo = new Point(5, 30);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -737,14 +1053,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipe(DOWN, element);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(5, 5))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(5, 5), moveTo, 2000, false);
         }
     }
 
@@ -754,7 +1063,7 @@ public class LocomotiveTest {
         initMockDriverSizes(element);
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(5, 55), new Point(0, 50)};
+        Point moveTo = new Point(5, 55);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -762,14 +1071,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeLong(DOWN, element);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(5, 5))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(5, 5), moveTo, 2000, false);
         }
     }
 
@@ -779,7 +1081,7 @@ public class LocomotiveTest {
         initMockDriverSizes(element);
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(3, 5), new Point(-2, 0)};
+        Point moveTo = new Point(3, 5);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -787,14 +1089,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipe(SwipeElementDirection.LEFT, element);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(5, 5))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(5, 5), moveTo, 2000, false);
         }
     }
 
@@ -804,7 +1099,7 @@ public class LocomotiveTest {
         initMockDriverSizes(element);
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(2, 5), new Point(-3, 0)};
+        Point moveTo = new Point(2, 5);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -812,14 +1107,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeLong(SwipeElementDirection.LEFT, element);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(5, 5))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(5, 5), moveTo, 2000, false);
         }
     }
 
@@ -829,7 +1117,7 @@ public class LocomotiveTest {
         initMockDriverSizes(element);
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(5, 3), new Point(0, -2)};
+        Point moveTo = new Point(5, 3);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -837,14 +1125,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipe(SwipeElementDirection.UP, element);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(5, 5))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(5, 5), moveTo, 2000, false);
         }
     }
 
@@ -854,7 +1135,7 @@ public class LocomotiveTest {
         initMockDriverSizes(element);
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(5, 2), new Point(0, -3)};
+        Point moveTo = new Point(5, 2);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -862,14 +1143,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeLong(SwipeElementDirection.UP, element);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(5, 5))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(5, 5), moveTo, 2000, false);
         }
     }
 
@@ -879,7 +1153,7 @@ public class LocomotiveTest {
         initMockDriverSizes(element);
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(30, 5), new Point(25, 0)};
+        Point moveTo = new Point(30, 5);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -887,14 +1161,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipe(SwipeElementDirection.RIGHT, element);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(5, 5))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(5, 5), moveTo, 2000, false);
         }
     }
 
@@ -904,7 +1171,7 @@ public class LocomotiveTest {
         initMockDriverSizes(element);
 
         ConductorConfig[] configs = {androidConfig, iosConfig};
-        Point[] moveTo = {new Point(55, 5), new Point(50, 0)};
+        Point moveTo = new Point(55, 5);
 
         for (int i = 0; i < 2; ++i) {
             final Locomotive locomotive = new Locomotive()
@@ -912,14 +1179,7 @@ public class LocomotiveTest {
                     .setAppiumDriver(mockDriver);
 
             locomotive.swipeLong(SwipeElementDirection.RIGHT, element);
-            ArgumentCaptor<TouchAction> touchCapture = ArgumentCaptor.forClass(TouchAction.class);
-            verify(mockDriver, times(i + 1))
-                    .performTouchAction(touchCapture.capture());
-            assertThatActionMatches(touchCapture.getValue(),
-                    new TouchAction(mockDriver).press(point(5, 5))
-                            .waitAction(waitOptions(ofMillis(2000)))
-                            .moveTo(point(moveTo[i].x, moveTo[i].y))
-                            .release());
+            assertThatGestureMatches(i + 1, new Point(5, 5), moveTo, 2000, false);
         }
     }
 
@@ -960,6 +1220,24 @@ public class LocomotiveTest {
         locomotive.setText(element, "text");
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_click_taps_the_element() {
+        final MobileElement element = mock(MobileElement.class);
+        when(element.getId()).thenReturn("element-1");
+        final Locomotive locomotive = new Locomotive()
+                .setConfiguration(iosConfig)
+                .setAppiumDriver(mockDriver);
+
+        locomotive.click(element);
+
+        ArgumentCaptor<Collection<Sequence>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(mockDriver).perform(captor.capture());
+        Assertions.assertThat(captor.getValue().iterator().next().encode())
+                .isEqualTo(GestureEngine.tap(element).encode());
+        verify(mockDriver, never()).performTouchAction(any());
+    }
+
     @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = "Element should be defined")
     public void test_click_returns_exception() {
         final MobileElement element = mock(MobileElement.class);
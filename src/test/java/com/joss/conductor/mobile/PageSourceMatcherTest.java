@@ -0,0 +1,34 @@
+package com.joss.conductor.mobile;
+
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.Test;
+
+public class PageSourceMatcherTest {
+
+    @Test
+    public void text_attributes_are_matched() {
+        Assertions.assertThat(PageSourceMatcher.containsText(UiHierarchyTest.ANDROID_SOURCE, "Secon")).isTrue();
+        Assertions.assertThat(PageSourceMatcher.containsText(UiHierarchyTest.IOS_SOURCE, "Welcome")).isTrue();
+        Assertions.assertThat(PageSourceMatcher.containsText(UiHierarchyTest.IOS_SOURCE, "me@example")).isTrue();
+    }
+
+    @Test
+    public void tag_names_and_other_attributes_are_not_matched() {
+        Assertions.assertThat(PageSourceMatcher.containsText(UiHierarchyTest.ANDROID_SOURCE, "TextView")).isFalse();
+        Assertions.assertThat(PageSourceMatcher.containsText(UiHierarchyTest.ANDROID_SOURCE, "com.app:id/row"))
+                .isFalse();
+        Assertions.assertThat(PageSourceMatcher.containsText(UiHierarchyTest.IOS_SOURCE, "email")).isFalse();
+    }
+
+    @Test
+    public void entities_are_decoded() {
+        String source = "<hierarchy><android.widget.TextView text=\"Terms &amp; Conditions\"/></hierarchy>";
+
+        Assertions.assertThat(PageSourceMatcher.containsText(source, "Terms & Conditions")).isTrue();
+    }
+
+    @Test
+    public void malformed_page_source_is_searched_as_text() {
+        Assertions.assertThat(PageSourceMatcher.containsText("<hierarchy text=\"Partial", "Partial")).isTrue();
+    }
+}
@@ -0,0 +1,54 @@
+package com.joss.conductor.mobile;
+
+import com.joss.conductor.mobile.util.PageUtil;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.By;
+import org.testng.annotations.Test;
+
+public class PageUtilTest {
+
+    @Test
+    public void android_id_includes_app_package() {
+        ConductorConfig config = new ConductorConfig("/test_yaml/android_full.yaml");
+        config.setAppPackageName("com.example");
+
+        Assertions.assertThat(PageUtil.buildBy(config, "login")).isEqualTo(By.id("com.example:id/login"));
+    }
+
+    @Test
+    public void ios_id_is_accessibility_identifier() {
+        ConductorConfig config = new ConductorConfig("/test_yaml/ios_full.yaml");
+
+        Assertions.assertThat(PageUtil.buildBy(config, "login")).isEqualTo(By.xpath("//*[@name='login']"));
+    }
+
+    @Test
+    public void same_identifier_returns_same_instance() {
+        ConductorConfig config = new ConductorConfig("/test_yaml/android_full.yaml");
+
+        Assertions.assertThat(PageUtil.buildBy(config, "login")).isSameAs(PageUtil.buildBy(config, "login"));
+    }
+
+    @Test
+    public void configuration_change_builds_new_locator() {
+        ConductorConfig config = new ConductorConfig("/test_yaml/android_full.yaml");
+        config.setAppPackageName("com.example");
+        By before = PageUtil.buildBy(config, "login");
+
+        config.setAppPackageName("com.example.debug");
+
+        Assertions.assertThat(PageUtil.buildBy(config, "login"))
+                .isNotEqualTo(before)
+                .isEqualTo(By.id("com.example.debug:id/login"));
+    }
+
+    @Test
+    public void unknown_platform_throws() {
+        // without a config file the platform is unknown
+        ConductorConfig config = new ConductorConfig("/test_yaml/does_not_exist.yaml");
+
+        Assertions.assertThatThrownBy(() -> PageUtil.buildBy(config, "login"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown platform");
+    }
+}
@@ -0,0 +1,68 @@
+package com.joss.conductor.mobile;
+
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PollingPolicyTest {
+
+    @Test
+    public void fixed_polls_at_the_interval() {
+        PollingPolicy policy = PollingPolicy.fixed(250);
+
+        assertThat(delays(policy, 4, PollingPolicy.UNKNOWN)).containsExactly(250L, 250L, 250L, 250L);
+    }
+
+    @Test
+    public void exponential_doubles_up_to_the_maximum() {
+        PollingPolicy policy = PollingPolicy.exponential(100, 1000);
+
+        assertThat(delays(policy, 6, PollingPolicy.UNKNOWN)).containsExactly(100L, 200L, 400L, 800L, 1000L, 1000L);
+        assertThat(policy.nextDelay(Integer.MAX_VALUE, 0, PollingPolicy.UNKNOWN)).isEqualTo(1000);
+    }
+
+    @Test
+    public void fibonacci_grows_slower_than_exponential() {
+        PollingPolicy policy = PollingPolicy.fibonacci(100, 1000);
+
+        assertThat(delays(policy, 7, PollingPolicy.UNKNOWN))
+                .containsExactly(100L, 100L, 200L, 300L, 500L, 800L, 1000L);
+    }
+
+    @Test
+    public void adaptive_backs_off_exponentially_without_history() {
+        PollingPolicy policy = PollingPolicy.adaptive(50, 1000);
+
+        assertThat(delays(policy, 3, PollingPolicy.UNKNOWN)).containsExactly(50L, 100L, 200L);
+    }
+
+    @Test
+    public void adaptive_polls_densely_towards_the_expected_time() {
+        PollingPolicy policy = PollingPolicy.adaptive(50, 2000);
+
+        assertThat(policy.nextDelay(1, 0, 1600)).isEqualTo(800);
+        assertThat(policy.nextDelay(2, 800, 1600)).isEqualTo(400);
+        assertThat(policy.nextDelay(3, 1550, 1600)).isEqualTo(50);
+        assertThat(policy.nextDelay(4, 1600, 1600)).isEqualTo(50);
+        assertThat(policy.nextDelay(5, 2600, 1600)).isEqualTo(500);
+        assertThat(policy.nextDelay(6, 60000, 1600)).isEqualTo(2000);
+    }
+
+    @Test
+    public void policies_are_found_by_name() {
+        assertThat(PollingPolicy.of("Fibonacci", 100, 1000)).hasToString("fibonacci 100-1000 ms");
+        assertThat(PollingPolicy.of("fixed", 100, 1000)).hasToString("fixed 100 ms");
+        assertThatThrownBy(() -> PollingPolicy.of("linear", 100, 1000))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("linear");
+    }
+
+    private static Long[] delays(PollingPolicy policy, int attempts, long expected) {
+        Long[] delays = new Long[attempts];
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            delays[attempt - 1] = policy.nextDelay(attempt, 0, expected);
+        }
+        return delays;
+    }
+}
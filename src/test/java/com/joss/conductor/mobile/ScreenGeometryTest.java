@@ -0,0 +1,90 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.ScreenOrientation;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.SessionId;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ScreenGeometryTest {
+
+    private AppiumDriver driver;
+    private WebDriver.Window window;
+
+    @BeforeMethod
+    public void setup() {
+        window = mock(WebDriver.Window.class);
+        when(window.getSize()).thenReturn(new Dimension(100, 200), new Dimension(200, 100));
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        when(options.window()).thenReturn(window);
+
+        driver = mock(AppiumDriver.class);
+        when(driver.manage()).thenReturn(options);
+        when(driver.getSessionId()).thenReturn(new SessionId("1"));
+    }
+
+    @Test
+    public void center_is_read_from_the_rect() {
+        WebElement element = mock(WebElement.class);
+        when(element.getRect()).thenReturn(new Rectangle(10, 20, 40, 30));
+
+        assertThat(ScreenGeometry.getCenter(element)).isEqualTo(new Point(25, 40));
+        verify(element, never()).getLocation();
+    }
+
+    @Test
+    public void center_falls_back_to_location_and_size() {
+        WebElement element = mock(WebElement.class);
+        when(element.getRect()).thenThrow(new UnsupportedCommandException("getElementRect"));
+        when(element.getLocation()).thenReturn(new Point(10, 20));
+        when(element.getSize()).thenReturn(new Dimension(30, 40));
+
+        assertThat(ScreenGeometry.getCenter(element)).isEqualTo(new Point(25, 40));
+    }
+
+    @Test
+    public void window_size_is_cached_per_orientation() {
+        ScreenGeometry geometry = new ScreenGeometry();
+
+        assertThat(geometry.getWindowSize(driver)).isEqualTo(new Dimension(100, 200));
+        assertThat(geometry.getWindowSize(driver)).isEqualTo(new Dimension(100, 200));
+
+        geometry.rotated(driver, ScreenOrientation.LANDSCAPE);
+        assertThat(geometry.getWindowSize(driver)).isEqualTo(new Dimension(200, 100));
+        verify(window, times(2)).getSize();
+
+        when(window.getSize()).thenReturn(new Dimension(1, 1));
+        geometry.rotated(driver, ScreenOrientation.PORTRAIT);
+        assertThat(geometry.getWindowSize(driver)).isEqualTo(new Dimension(1, 1));
+        geometry.rotated(driver, ScreenOrientation.LANDSCAPE);
+        assertThat(geometry.getWindowSize(driver)).isEqualTo(new Dimension(200, 100));
+        verify(window, times(3)).getSize();
+    }
+
+    @Test
+    public void window_size_is_fetched_again_for_another_session() {
+        ScreenGeometry geometry = new ScreenGeometry();
+        geometry.getWindowSize(driver);
+
+        when(driver.getSessionId()).thenReturn(new SessionId("2"));
+        assertThat(geometry.getWindowSize(driver)).isEqualTo(new Dimension(200, 100));
+    }
+
+    @Test
+    public void invalidate_forgets_the_window_size() {
+        ScreenGeometry geometry = new ScreenGeometry();
+        geometry.getWindowSize(driver);
+
+        geometry.invalidate();
+        assertThat(geometry.getWindowSize(driver)).isEqualTo(new Dimension(200, 100));
+    }
+}
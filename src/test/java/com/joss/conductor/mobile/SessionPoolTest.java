@@ -0,0 +1,138 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+
+public class SessionPoolTest {
+
+    private ConductorConfig config;
+    private DesiredCapabilities capabilities;
+    private SessionPool pool;
+
+    @BeforeMethod
+    public void setup() {
+        config = new ConductorConfig("/test_yaml/android_full.yaml");
+        config.setSessionPoolSize(1);
+        capabilities = new DesiredCapabilities();
+        capabilities.setCapability("udid", "qwerty");
+        pool = new SessionPool();
+    }
+
+    @Test
+    public void released_session_is_leased_again() {
+        AppiumDriver driver = mock(AppiumDriver.class);
+        SessionFactory factory = mock(SessionFactory.class);
+        when(factory.create(any())).thenReturn(driver);
+
+        AppiumDriver first = pool.lease(config, capabilities, factory);
+        pool.release(first, config);
+        AppiumDriver second = pool.lease(config, capabilities, factory);
+
+        Assertions.assertThat(second).isSameAs(first);
+        verify(factory, times(1)).create(any());
+        verify(driver, never()).quit();
+        verify(driver).terminateApp("com.joss.conductor.mobile");
+        verify(driver).activateApp("com.joss.conductor.mobile");
+    }
+
+    @Test
+    public void sessions_are_keyed_on_capabilities() {
+        SessionFactory factory = mock(SessionFactory.class);
+        when(factory.create(any())).thenAnswer(invocation -> mock(AppiumDriver.class));
+
+        AppiumDriver first = pool.lease(config, capabilities, factory);
+        pool.release(first, config);
+
+        DesiredCapabilities other = new DesiredCapabilities();
+        other.setCapability("udid", "asdf");
+        AppiumDriver second = pool.lease(config, other, factory);
+
+        Assertions.assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    public void session_is_evicted_after_max_uses() {
+        config.setSessionPoolMaxUses(2);
+        SessionFactory factory = mock(SessionFactory.class);
+        when(factory.create(any())).thenAnswer(invocation -> mock(AppiumDriver.class));
+
+        AppiumDriver first = pool.lease(config, capabilities, factory);
+        pool.release(first, config);
+        Assertions.assertThat(pool.lease(config, capabilities, factory)).isSameAs(first);
+        pool.release(first, config);
+
+        verify(first).quit();
+        Assertions.assertThat(pool.lease(config, capabilities, factory)).isNotSameAs(first);
+    }
+
+    @Test
+    public void session_is_evicted_when_reset_fails() {
+        AppiumDriver driver = mock(AppiumDriver.class);
+        when(driver.terminateApp(anyString())).thenThrow(WebDriverException.class);
+        SessionFactory factory = mock(SessionFactory.class);
+        when(factory.create(any())).thenReturn(driver);
+
+        pool.release(pool.lease(config, capabilities, factory), config);
+
+        verify(driver).quit();
+        Assertions.assertThat(pool.idleCount()).isZero();
+    }
+
+    @Test
+    public void clear_app_data_resets_app() {
+        config.setSessionPoolClearAppData(true);
+        AppiumDriver driver = mock(AppiumDriver.class);
+        SessionFactory factory = mock(SessionFactory.class);
+        when(factory.create(any())).thenReturn(driver);
+
+        pool.release(pool.lease(config, capabilities, factory), config);
+
+        verify(driver).resetApp();
+        Assertions.assertThat(pool.idleCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void dead_idle_session_is_replaced() {
+        AppiumDriver dead = mock(AppiumDriver.class);
+        when(dead.getContext()).thenThrow(new NoSuchSessionException("Session timed out"));
+        AppiumDriver fresh = mock(AppiumDriver.class);
+        SessionFactory factory = mock(SessionFactory.class);
+        when(factory.create(any())).thenReturn(dead, fresh);
+
+        pool.release(pool.lease(config, capabilities, factory), config);
+
+        Assertions.assertThat(pool.lease(config, capabilities, factory)).isSameAs(fresh);
+        verify(dead).quit();
+    }
+
+    @Test
+    public void pinned_device_keeps_a_single_session() {
+        config.setSessionPoolSize(3);
+
+        Assertions.assertThat(SessionPool.capacity(config, capabilities)).isEqualTo(1);
+        Assertions.assertThat(SessionPool.capacity(config, new DesiredCapabilities())).isEqualTo(3);
+        DesiredCapabilities ports = new DesiredCapabilities();
+        ports.setCapability("systemPort", 8201);
+        Assertions.assertThat(SessionPool.capacity(config, ports)).isEqualTo(1);
+    }
+
+    @Test
+    public void max_idle_is_capped_at_new_command_timeout() {
+        config.setSessionPoolMaxIdle(300);
+        config.setNewCommandTimeout(null);
+        Assertions.assertThat(SessionPool.maxIdleSeconds(config)).isEqualTo(60);
+
+        config.setNewCommandTimeout("120");
+        Assertions.assertThat(SessionPool.maxIdleSeconds(config)).isEqualTo(120);
+
+        config.setNewCommandTimeout("0");
+        Assertions.assertThat(SessionPool.maxIdleSeconds(config)).isEqualTo(300);
+    }
+}
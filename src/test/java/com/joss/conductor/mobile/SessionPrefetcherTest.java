@@ -0,0 +1,132 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class SessionPrefetcherTest {
+
+    private ConductorConfig config;
+    private DesiredCapabilities capabilities;
+    private SessionPrefetcher prefetcher;
+    private List<AppiumDriver> created;
+    private SessionFactory factory;
+
+    @BeforeMethod
+    public void setup() {
+        config = new ConductorConfig("/test_yaml/android_full.yaml");
+        config.setSessionPrefetch(1);
+        capabilities = new DesiredCapabilities();
+        capabilities.setCapability("deviceName", "qwerty");
+        prefetcher = new SessionPrefetcher();
+
+        // Background prefetches of earlier tests must not add to the sessions of this one
+        List<AppiumDriver> sessions = Collections.synchronizedList(new ArrayList<>());
+        created = sessions;
+        factory = caps -> {
+            AppiumDriver driver = mock(AppiumDriver.class);
+            sessions.add(driver);
+            return driver;
+        };
+    }
+
+    @Test
+    public void next_session_is_taken_from_prefetch() {
+        AppiumDriver first = prefetcher.take(config, capabilities, factory);
+        AppiumDriver second = prefetcher.take(config, capabilities, factory);
+
+        Assertions.assertThat(first).isSameAs(created.get(0));
+        Assertions.assertThat(second).isSameAs(created.get(1));
+    }
+
+    @Test
+    public void look_ahead_is_bounded() throws InterruptedException {
+        prefetcher.take(config, capabilities, factory);
+        prefetcher.take(config, capabilities, factory);
+        prefetcher.take(config, capabilities, factory);
+        while (created.size() < 4) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+
+        // three taken sessions plus the single one prefetched for the fourth test
+        Assertions.assertThat(created).hasSize(4);
+    }
+
+    @Test
+    public void cancel_quits_unused_sessions() throws InterruptedException {
+        prefetcher.take(config, capabilities, factory);
+        // wait for the background session to be started
+        while (created.size() < 2) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+        prefetcher.cancel();
+
+        verify(created.get(0), never()).quit();
+        verify(created.get(1)).quit();
+    }
+
+    @Test
+    public void failed_prefetch_falls_back_to_new_session() {
+        AppiumDriver driver = mock(AppiumDriver.class);
+        SessionFactory failing = mock(SessionFactory.class);
+        when(failing.create(any()))
+                .thenReturn(driver)
+                .thenThrow(new SessionNotCreatedException("grid is full"))
+                .thenReturn(driver);
+
+        prefetcher.take(config, capabilities, failing);
+        Assertions.assertThat(prefetcher.take(config, capabilities, failing)).isSameAs(driver);
+    }
+
+    @Test
+    public void dead_prefetched_session_is_replaced() {
+        AppiumDriver current = mock(AppiumDriver.class);
+        AppiumDriver dead = mock(AppiumDriver.class);
+        AppiumDriver fresh = mock(AppiumDriver.class);
+        when(dead.getContext()).thenThrow(new NoSuchSessionException("Session timed out"));
+        SessionFactory sessions = mock(SessionFactory.class);
+        when(sessions.create(any())).thenReturn(current, dead, fresh);
+
+        prefetcher.take(config, capabilities, sessions);
+        verify(sessions, timeout(1000).times(2)).create(any());
+
+        Assertions.assertThat(prefetcher.take(config, capabilities, sessions)).isSameAs(fresh);
+        verify(dead).quit();
+    }
+
+    @Test
+    public void stale_prefetched_session_is_replaced() throws InterruptedException {
+        config.setNewCommandTimeout("1");
+        prefetcher.take(config, capabilities, factory);
+        while (created.size() < 2) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(1100);
+
+        AppiumDriver taken = prefetcher.take(config, capabilities, factory);
+
+        Assertions.assertThat(taken).isSameAs(created.get(2));
+        verify(created.get(1)).quit();
+    }
+
+    @Test
+    public void pinned_device_is_not_prefetched() throws InterruptedException {
+        capabilities.setCapability("udid", "qwerty");
+        prefetcher.take(config, capabilities, factory);
+        Thread.sleep(100);
+
+        Assertions.assertThat(created).hasSize(1);
+    }
+}
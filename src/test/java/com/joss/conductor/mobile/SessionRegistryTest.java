@@ -0,0 +1,72 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.WebDriverException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+public class SessionRegistryTest {
+
+    private SessionRegistry registry;
+
+    @BeforeMethod
+    public void setup() {
+        registry = new SessionRegistry();
+    }
+
+    @Test
+    public void quit_sessions_are_not_reaped() {
+        AppiumDriver driver = mock(AppiumDriver.class);
+        registry.register(driver);
+
+        registry.quit(driver);
+
+        Assertions.assertThat(registry.reap()).isZero();
+        verify(driver, times(1)).quit();
+    }
+
+    @Test
+    public void leaked_sessions_are_quit_in_parallel() {
+        AppiumDriver[] drivers = new AppiumDriver[4];
+        for (int i = 0; i < drivers.length; i++) {
+            drivers[i] = slowDriver(300);
+            registry.register(drivers[i]);
+        }
+
+        long start = System.nanoTime();
+        Assertions.assertThat(registry.reap()).isZero();
+
+        Assertions.assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+        for (AppiumDriver driver : drivers) {
+            verify(driver).quit();
+        }
+        Assertions.assertThat(registry.liveCount()).isZero();
+    }
+
+    @Test
+    public void reaper_gives_up_after_timeout() {
+        registry.setReapTimeout(100, TimeUnit.MILLISECONDS);
+        registry.register(slowDriver(5000));
+        AppiumDriver failing = mock(AppiumDriver.class);
+        doThrow(new WebDriverException("session is gone")).when(failing).quit();
+        registry.register(failing);
+
+        long start = System.nanoTime();
+        Assertions.assertThat(registry.reap()).isEqualTo(1);
+        Assertions.assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2000);
+    }
+
+    private static AppiumDriver slowDriver(long quitMillis) {
+        AppiumDriver driver = mock(AppiumDriver.class);
+        doAnswer(invocation -> {
+            Thread.sleep(quitMillis);
+            return null;
+        }).when(driver).quit();
+        return driver;
+    }
+}
@@ -0,0 +1,89 @@
+package com.joss.conductor.mobile;
+
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.ConnectException;
+
+public class SessionRetryPolicyTest {
+
+    private static final WebDriverException CONNECTION_REFUSED =
+            new UnreachableBrowserException("Could not start a new session", new ConnectException("Connection refused"));
+
+    private ConductorConfig config;
+
+    @BeforeMethod
+    public void setup() {
+        config = new ConductorConfig("/test_yaml/android_full.yaml");
+        config.setStartSessionRetries(10);
+        config.setStartSessionRetryDelay(1000);
+        config.setStartSessionMaxRetryDelay(5000);
+    }
+
+    @Test
+    public void delay_backs_off_exponentially_up_to_max() {
+        SessionRetryPolicy policy = new SessionRetryPolicy(config, () -> 1.0);
+
+        Assertions.assertThat(policy.nextDelay(1, CONNECTION_REFUSED, 0)).isEqualTo(1000);
+        Assertions.assertThat(policy.nextDelay(2, CONNECTION_REFUSED, 0)).isEqualTo(2000);
+        Assertions.assertThat(policy.nextDelay(3, CONNECTION_REFUSED, 0)).isEqualTo(4000);
+        Assertions.assertThat(policy.nextDelay(4, CONNECTION_REFUSED, 0)).isEqualTo(5000);
+        Assertions.assertThat(policy.nextDelay(9, CONNECTION_REFUSED, 0)).isEqualTo(5000);
+    }
+
+    @Test
+    public void jitter_keeps_at_least_half_the_delay() {
+        SessionRetryPolicy policy = new SessionRetryPolicy(config, () -> 0.0);
+
+        Assertions.assertThat(policy.nextDelay(2, CONNECTION_REFUSED, 0)).isEqualTo(1000);
+    }
+
+    @Test
+    public void gives_up_after_max_attempts() {
+        config.setStartSessionRetries(3);
+        SessionRetryPolicy policy = new SessionRetryPolicy(config);
+
+        Assertions.assertThat(policy.nextDelay(2, CONNECTION_REFUSED, 0)).isNotEqualTo(SessionRetryPolicy.GIVE_UP);
+        Assertions.assertThat(policy.nextDelay(3, CONNECTION_REFUSED, 0)).isEqualTo(SessionRetryPolicy.GIVE_UP);
+    }
+
+    @Test
+    public void gives_up_when_time_budget_is_spent() {
+        config.setStartSessionTimeBudget(10);
+        SessionRetryPolicy policy = new SessionRetryPolicy(config, () -> 1.0);
+
+        Assertions.assertThat(policy.nextDelay(1, CONNECTION_REFUSED, 5000)).isEqualTo(1000);
+        Assertions.assertThat(policy.nextDelay(1, CONNECTION_REFUSED, 9500)).isEqualTo(SessionRetryPolicy.GIVE_UP);
+    }
+
+    @Test
+    public void invalid_capabilities_are_not_retried() {
+        SessionRetryPolicy policy = new SessionRetryPolicy(config);
+
+        Assertions.assertThat(policy.isRetryable(new InvalidArgumentException("udid is invalid"))).isFalse();
+        Assertions.assertThat(policy.isRetryable(new SessionNotCreatedException(
+                "A new session could not be created. Details: The desired capabilities must include either an app or a bundleId")))
+                .isFalse();
+        Assertions.assertThat(policy.isRetryable(new SessionNotCreatedException(
+                "The application at '/tmp/app.apk' does not exist or is not accessible")))
+                .isFalse();
+        Assertions.assertThat(policy.nextDelay(1, new InvalidArgumentException("bad"), 0))
+                .isEqualTo(SessionRetryPolicy.GIVE_UP);
+    }
+
+    @Test
+    public void transient_failures_are_retried() {
+        SessionRetryPolicy policy = new SessionRetryPolicy(config);
+
+        Assertions.assertThat(policy.isRetryable(CONNECTION_REFUSED)).isTrue();
+        Assertions.assertThat(policy.isRetryable(new SessionNotCreatedException(
+                "Unable to create a new remote session. Original error: 503 Service Unavailable"))).isTrue();
+        Assertions.assertThat(policy.isRetryable(new WebDriverException(
+                new java.net.SocketTimeoutException("Read timed out")))).isTrue();
+    }
+}
@@ -0,0 +1,51 @@
+package com.joss.conductor.mobile;
+
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class SessionStartupReportTest {
+
+    @Test
+    public void timings_are_written_as_json_lines() throws IOException {
+        Path file = Files.createTempDirectory("startup").resolve("session-startup.jsonl");
+        SessionStartupReport report = new SessionStartupReport();
+        report.onSessionStartup(timings("first", 1200));
+        report.onSessionStartup(timings("second", 300));
+
+        report.write(file);
+
+        List<String> lines = Files.readAllLines(file);
+        Assertions.assertThat(lines).hasSize(2);
+        Assertions.assertThat(lines.get(0))
+                .startsWith("{\"test\": \"first\"")
+                .contains("\"udid\": \"emulator-5554\"", "\"attempts\": 2", "\"succeeded\": true",
+                        "\"new_session\": 1200", "\"config_load\": 0");
+    }
+
+    @Test
+    public void later_suites_are_appended() throws IOException {
+        Path file = Files.createTempDirectory("startup").resolve("session-startup.jsonl");
+        Files.write(file, "previous run\n".getBytes("UTF-8"));
+        SessionStartupReport report = new SessionStartupReport();
+
+        report.onSessionStartup(timings("first", 1));
+        report.write(file);
+        report.onSessionStartup(timings("second", 1));
+        report.write(file);
+
+        Assertions.assertThat(Files.readAllLines(file)).hasSize(2).doesNotContain("previous run");
+    }
+
+    private static SessionStartupTimings timings(String test, long newSessionMillis) {
+        SessionStartupTimings timings = new SessionStartupTimings(test);
+        timings.setUdid("emulator-5554");
+        timings.add(SessionStartupTimings.Phase.NEW_SESSION, newSessionMillis);
+        timings.finish(2, true);
+        return timings;
+    }
+}
@@ -0,0 +1,36 @@
+package com.joss.conductor.mobile;
+
+import org.openqa.selenium.By;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UiFingerprintTest {
+
+    @Test
+    public void equal_sources_have_equal_fingerprints() {
+        assertThat(UiFingerprint.of(UiHierarchyTest.ANDROID_SOURCE))
+                .isEqualTo(UiFingerprint.of(new String(UiHierarchyTest.ANDROID_SOURCE)))
+                .isNotEqualTo(UiFingerprint.of(UiHierarchyTest.ANDROID_SOURCE.replace("First", "Frist")));
+    }
+
+    @Test
+    public void subtree_ignores_changes_elsewhere() {
+        String moved = UiHierarchyTest.ANDROID_SOURCE.replace("[540,200][1080,300]", "[540,210][1080,310]");
+
+        assertThat(subtree(moved, By.id("row"))).isEqualTo(subtree(UiHierarchyTest.ANDROID_SOURCE, By.id("row")));
+        assertThat(subtree(moved, By.id("ok"))).isNotEqualTo(subtree(UiHierarchyTest.ANDROID_SOURCE, By.id("ok")));
+    }
+
+    @Test
+    public void child_and_sibling_do_not_collide() {
+        String child = "<hierarchy><a><b/></a></hierarchy>";
+        String sibling = "<hierarchy><a/><b/></hierarchy>";
+
+        assertThat(subtree(child, By.xpath("/hierarchy"))).isNotEqualTo(subtree(sibling, By.xpath("/hierarchy")));
+    }
+
+    private static long subtree(String source, By by) {
+        return UiFingerprint.of(UiHierarchy.parse(source, Platform.ANDROID).find(by));
+    }
+}
@@ -0,0 +1,98 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.MobileBy;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+public class UiHierarchyTest {
+
+    static final String ANDROID_SOURCE = "<?xml version='1.0' encoding='UTF-8' standalone='yes' ?>"
+            + "<hierarchy rotation=\"0\">"
+            + "<android.widget.FrameLayout bounds=\"[0,0][1080,1920]\" resource-id=\"\" text=\"\">"
+            + "<android.widget.TextView bounds=\"[0,100][540,200]\" resource-id=\"com.app:id/row\" text=\"First\""
+            + " content-desc=\"first row\" enabled=\"true\"/>"
+            + "<android.widget.TextView bounds=\"[0,200][540,300]\" resource-id=\"com.app:id/row\" text=\"Second\""
+            + " content-desc=\"\" enabled=\"false\"/>"
+            + "<android.widget.Button bounds=\"[540,200][1080,300]\" resource-id=\"com.app:id/ok\" text=\"It's OK\"/>"
+            + "</android.widget.FrameLayout>"
+            + "</hierarchy>";
+
+    static final String IOS_SOURCE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<AppiumAUT>"
+            + "<XCUIElementTypeApplication name=\"App\" label=\"App\" x=\"0\" y=\"0\" width=\"375\" height=\"812\">"
+            + "<XCUIElementTypeStaticText name=\"title\" label=\"Welcome\" x=\"10\" y=\"40\" width=\"200\""
+            + " height=\"20\" visible=\"true\"/>"
+            + "<XCUIElementTypeTextField name=\"email\" label=\"Email\" value=\"me@example.com\" x=\"10\" y=\"80\""
+            + " width=\"300\" height=\"30\" visible=\"true\"/>"
+            + "</XCUIElementTypeApplication>"
+            + "</AppiumAUT>";
+
+    @Test
+    public void android_elements_are_read_by_id() {
+        List<ElementSnapshot> rows = UiHierarchy.parse(ANDROID_SOURCE, Platform.ANDROID)
+                .read(By.id("row"), "enabled", "content-desc");
+
+        Assertions.assertThat(rows).hasSize(2);
+        Assertions.assertThat(rows.get(0).getText()).isEqualTo("First");
+        Assertions.assertThat(rows.get(0).getAttribute("content-desc")).isEqualTo("first row");
+        Assertions.assertThat(rows.get(1).getAttribute("enabled")).isEqualTo("false");
+        Assertions.assertThat(rows.get(1).getRect()).isEqualTo(new Rectangle(0, 200, 100, 540));
+    }
+
+    @Test
+    public void android_locator_strategies_are_evaluated() {
+        UiHierarchy hierarchy = UiHierarchy.parse(ANDROID_SOURCE, Platform.ANDROID);
+
+        Assertions.assertThat(hierarchy.read(By.id("com.app:id/ok"))).hasSize(1);
+        Assertions.assertThat(hierarchy.read(By.className("android.widget.TextView"))).hasSize(2);
+        Assertions.assertThat(hierarchy.read(MobileBy.AccessibilityId("first row"))).hasSize(1);
+        Assertions.assertThat(hierarchy.read(By.xpath("//*[@text=\"It's OK\"]")).get(0).getText())
+                .isEqualTo("It's OK");
+    }
+
+    @Test
+    public void simple_xpaths_use_indexes() {
+        UiHierarchy hierarchy = UiHierarchy.parse(ANDROID_SOURCE, Platform.ANDROID);
+
+        Assertions.assertThat(hierarchy.find(By.xpath("//*[@text='Second']"))).hasSize(1);
+        Assertions.assertThat(hierarchy.find(By.xpath("//android.widget.Button[@resource-id='com.app:id/row']")))
+                .isEmpty();
+        Assertions.assertThat(hierarchy.find(By.xpath("//android.widget.TextView"))).hasSize(2);
+        Assertions.assertThat(hierarchy.find(By.id("ok")).get(0).getAttribute("text")).isEqualTo("It's OK");
+    }
+
+    @Test
+    public void ios_text_is_value_or_label() {
+        UiHierarchy hierarchy = UiHierarchy.parse(IOS_SOURCE, Platform.IOS);
+
+        Assertions.assertThat(hierarchy.read(MobileBy.AccessibilityId("title")).get(0).getText())
+                .isEqualTo("Welcome");
+        ElementSnapshot email = hierarchy.read(By.name("email"), "visible").get(0);
+        Assertions.assertThat(email.getText()).isEqualTo("me@example.com");
+        Assertions.assertThat(email.getAttribute("visible")).isEqualTo("true");
+        Assertions.assertThat(email.getRect()).isEqualTo(new Rectangle(10, 80, 30, 300));
+    }
+
+    @Test
+    public void native_strategies_are_not_evaluated() {
+        UiHierarchy hierarchy = UiHierarchy.parse(IOS_SOURCE, Platform.IOS);
+
+        Assertions.assertThat(hierarchy.read(MobileBy.iOSNsPredicateString("name == 'title'"))).isNull();
+        Assertions.assertThat(hierarchy.read(By.xpath("//*[matches(@name, 't.*')]"))).isNull();
+    }
+
+    @Test
+    public void literals_with_both_quotes_use_concat() {
+        Assertions.assertThat(UiHierarchy.literal("it's \"ok\""))
+                .isEqualTo("concat('it', \"'\", 's \"ok\"')");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void malformed_page_source_is_rejected() {
+        UiHierarchy.parse("<hierarchy>", Platform.ANDROID);
+    }
+}
@@ -0,0 +1,141 @@
+package com.joss.conductor.mobile;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class WaitEngineTest {
+
+    private FakeClock clock;
+    private List<Long> sleeps;
+    private WaitEngine engine;
+    private WebDriver driver;
+
+    @BeforeMethod
+    public void setup() {
+        clock = new FakeClock();
+        sleeps = new ArrayList<>();
+        Sleeper sleeper = duration -> {
+            sleeps.add(duration.toMillis());
+            clock.millis += duration.toMillis();
+        };
+        engine = new WaitEngine(clock, sleeper);
+        driver = mock(WebDriver.class);
+    }
+
+    @Test
+    public void returns_once_the_condition_is_met() {
+        String value = engine.until(driver, readyAt(300, "ready"), 5000, PollingPolicy.fixed(100), "key");
+
+        assertThat(value).isEqualTo("ready");
+        assertThat(sleeps).containsExactly(100L, 100L, 100L);
+        WaitEngine.Metrics metrics = engine.getMetrics().get("key");
+        assertThat(metrics.getWaits()).isEqualTo(1);
+        assertThat(metrics.getPolls()).isEqualTo(4);
+        assertThat(metrics.getTotalMillis()).isEqualTo(300);
+        assertThat(metrics.getExpectedMillis()).isEqualTo(300);
+    }
+
+    @Test
+    public void false_and_not_found_are_not_met() {
+        int[] calls = {0};
+        Function<WebDriver, Boolean> condition = d -> {
+            calls[0]++;
+            if (calls[0] == 1) {
+                throw new NoSuchElementException("not yet");
+            }
+            return calls[0] == 3;
+        };
+
+        assertThat(engine.until(driver, condition, 5000, PollingPolicy.fixed(10), "key")).isTrue();
+        assertThat(calls[0]).isEqualTo(3);
+    }
+
+    @Test
+    public void times_out_with_a_last_poll_at_the_timeout() {
+        assertThatThrownBy(() -> engine.until(driver, readyAt(10000, true), 1000, PollingPolicy.fixed(300), "key"))
+                .isInstanceOf(TimeoutException.class)
+                .hasMessageContaining("tried for 1000 ms polling fixed 300 ms");
+
+        assertThat(sleeps).containsExactly(300L, 300L, 300L, 100L);
+        WaitEngine.Metrics metrics = engine.getMetrics().get("key");
+        assertThat(metrics.getTimeouts()).isEqualTo(1);
+        assertThat(metrics.getExpectedMillis()).isEqualTo(PollingPolicy.UNKNOWN);
+    }
+
+    @Test
+    public void adaptive_policy_learns_the_time_to_ready() {
+        PollingPolicy policy = PollingPolicy.adaptive(50, 2000);
+        engine.until(driver, readyAt(800, true), 5000, policy, "key");
+        int coldPolls = sleeps.size();
+
+        sleeps.clear();
+        engine.until(driver, readyAt(800, true), 5000, policy, "key");
+
+        // ready after 1550 ms the first time, backing off 50, 100, 200, 400 and 800 ms
+        assertThat(coldPolls).isEqualTo(5);
+        assertThat(sleeps).containsExactly(775L, 387L);
+        assertThat(engine.until(driver, readyAt(800, true), 5000, policy, "other")).isTrue();
+    }
+
+    @Test
+    public void metrics_are_written_ranked_by_total_time() throws Exception {
+        engine.until(driver, readyAt(100, true), 5000, PollingPolicy.fixed(100), "fast");
+        engine.until(driver, readyAt(900, true), 5000, PollingPolicy.fixed(100), "slow");
+        Path file = Files.createTempDirectory("waits").resolve("wait-metrics.jsonl");
+
+        engine.write(file);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("\"wait\": \"slow\"").contains("\"totalMillis\": 900");
+        assertThat(lines.get(1)).contains("\"wait\": \"fast\"").contains("\"polls\": 2");
+    }
+
+    private <V> Function<WebDriver, V> readyAt(long millis, V value) {
+        long start = clock.millis;
+        return d -> clock.millis - start >= millis ? value : null;
+    }
+
+    private static final class FakeClock extends Clock {
+        private long millis;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+    }
+}
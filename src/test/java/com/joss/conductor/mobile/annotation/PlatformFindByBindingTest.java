@@ -0,0 +1,99 @@
+package com.joss.conductor.mobile.annotation;
+
+import com.joss.conductor.mobile.Platform;
+import com.joss.conductor.mobile.exception.PlatformFindByException;
+import org.assertj.core.api.Assertions;
+import org.openqa.selenium.By;
+import org.testng.annotations.Test;
+
+public class PlatformFindByBindingTest {
+
+    public static class ChildPage extends StubPage {
+        @AndroidFindBy(className = "android.widget.Button")
+        @IOSFindBy(className = "XCUIElementTypeButton")
+        public By Button;
+    }
+
+    public static class GeneratedPage {
+        @AndroidFindBy("generated")
+        public By Item;
+    }
+
+    public static class AndroidOnlyPage {
+        @AndroidFindBy("visible")
+        public By Item;
+
+        @IOSFindBy("hidden")
+        private By hiddenItem;
+    }
+
+    @Test
+    public void android_fields_are_bound() {
+        StubPage page = new StubPage();
+        PlatformFindByHelper.initIds(page, Platform.ANDROID);
+
+        Assertions.assertThat(page.Item).isEqualTo(By.id("google"));
+        Assertions.assertThat(page.XpathItem).isEqualTo(By.xpath("//*[@text='Knock Knock']"));
+    }
+
+    @Test
+    public void ios_fields_are_bound() {
+        StubPage page = new StubPage();
+        PlatformFindByHelper.initIds(page, Platform.IOS);
+
+        Assertions.assertThat(page.Item).isEqualTo(By.name("apple"));
+        Assertions.assertThat(page.XpathItem).isEqualTo(By.xpath("//*[@text='Who's there?']"));
+    }
+
+    @Test
+    public void superclass_fields_are_bound() {
+        ChildPage page = new ChildPage();
+        PlatformFindByHelper.initIds(page, Platform.ANDROID);
+
+        Assertions.assertThat(page.Button).isEqualTo(By.className("android.widget.Button"));
+        Assertions.assertThat(page.SecondItem).isEqualTo(By.id("elgoog"));
+    }
+
+    @Test
+    public void pages_of_a_class_share_locators() {
+        StubPage first = new StubPage();
+        StubPage second = new StubPage();
+        PlatformFindByHelper.initIds(first, Platform.ANDROID);
+        PlatformFindByHelper.initIds(second, Platform.ANDROID);
+
+        Assertions.assertThat(second.Item).isSameAs(first.Item);
+    }
+
+    @Test
+    public void unknown_platform_binds_nothing() {
+        StubPage page = new StubPage();
+        PlatformFindByHelper.initIds(page, Platform.NONE);
+
+        Assertions.assertThat(page.Item).isNull();
+    }
+
+    @Test
+    public void field_must_be_a_by() {
+        Assertions.assertThatThrownBy(() -> PlatformFindByHelper.initIds(new InvalidStubPage(), Platform.ANDROID))
+                .isInstanceOf(PlatformFindByException.class)
+                .hasMessageContaining("InvalidItem must be of type By!");
+    }
+
+    @Test
+    public void private_field_of_the_other_platform_is_ignored() {
+        AndroidOnlyPage page = new AndroidOnlyPage();
+        PlatformFindByHelper.initIds(page, Platform.ANDROID);
+
+        Assertions.assertThat(page.Item).isEqualTo(By.id("visible"));
+        Assertions.assertThatThrownBy(() -> PlatformFindByHelper.initIds(new AndroidOnlyPage(), Platform.IOS))
+                .isInstanceOf(PlatformFindByException.class);
+    }
+
+    @Test
+    public void generated_binder_is_preferred() {
+        GeneratedPage page = new GeneratedPage();
+        PlatformFindByHelper.initIds(page, Platform.ANDROID);
+
+        Assertions.assertThat(page.Item).isEqualTo(PlatformFindByBindingTest_GeneratedPage_Locators.ITEM);
+    }
+}
@@ -0,0 +1,21 @@
+package com.joss.conductor.mobile.annotation;
+
+import com.joss.conductor.mobile.Platform;
+import org.openqa.selenium.By;
+
+/**
+ * Stands in for the binder the annotation processor would generate for {@link PlatformFindByBindingTest.GeneratedPage}.
+ */
+public final class PlatformFindByBindingTest_GeneratedPage_Locators {
+
+    static final By ITEM = By.id("bound by the generated binder");
+
+    private PlatformFindByBindingTest_GeneratedPage_Locators() {
+    }
+
+    public static void bind(PlatformFindByBindingTest.GeneratedPage page, Platform platform) {
+        if (platform == Platform.ANDROID) {
+            page.Item = ITEM;
+        }
+    }
+}